@@ -0,0 +1,95 @@
+package com.omnilife.benchmark;
+
+import com.omnilife.modules.finance.api.WalletController;
+import com.omnilife.modules.finance.domain.AccountActivityState;
+import com.omnilife.modules.finance.repository.AccountActivityStateRepository;
+import com.omnilife.modules.finance.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of WalletService.getAccountHistoryById for one page at increasing offsets into the
+ * history of an account with 20,001 entries (a deposit and 20,000 transfers). The history is read
+ * from the account activity read model, which is awaited after the transfers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountHistoryBenchmark {
+
+    private static final int TRANSFERS = 20_000;
+    private static final int BATCH_SIZE = 5000;
+    private static final int PAGE_SIZE = 50;
+    private static final long PROJECTION_TIMEOUT_MILLIS = 120_000;
+
+    @Param({"0", "1000", "10000", "19950"})
+    public int offset;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        // Room for the events of every transfer, so that none waits for its publication to be resubmitted
+        context = BenchmarkApplication.start("omnilife.events.listener-queue-capacity=" + 2 * TRANSFERS);
+        walletService = context.getBean(WalletService.class);
+        List<String> accounts = BenchmarkApplication.createWallets(walletService, 2);
+        String from = accounts.get(0);
+        walletService.fundWallet(from, new BigDecimal("1000000.00"));
+
+        List<WalletController.TransferRequest> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new WalletController.TransferRequest(from, accounts.get(1), new BigDecimal("0.01")));
+        }
+        for (int i = 0; i < TRANSFERS / BATCH_SIZE; i++) {
+            walletService.transferFundsBatch(batch);
+        }
+
+        accountId = walletService.getWallet(from).getId();
+        awaitProjection(context.getBean(AccountActivityStateRepository.class), TRANSFERS + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void awaitProjection(AccountActivityStateRepository stateRepository, long entries)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + PROJECTION_TIMEOUT_MILLIS;
+        while (stateRepository.findById(accountId).map(AccountActivityState::getLastSequence).orElse(0L) < entries) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Account activity was not projected within "
+                        + PROJECTION_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    @Benchmark
+    public Page<WalletController.TransactionHistoryDto> historyPage() {
+        return walletService.getAccountHistoryById(accountId, offset / PAGE_SIZE, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.omnilife.benchmark;
+
+import com.omnilife.OmnilifeApplication;
+import com.omnilife.modules.finance.api.WalletController;
+import com.omnilife.modules.finance.service.WalletService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application for a benchmark trial without the web server, on a fresh in-memory H2
+ * database in MySQL mode, so that benchmarks run offline and every trial starts from an empty
+ * ledger. Background jobs keep running as in production.
+ */
+final class BenchmarkApplication {
+
+    private static final int BULK_SIZE = 100_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application context.
+     *
+     * @param properties additional properties in key=value form, overriding the defaults
+     * @return the started context, to be closed in the trial's teardown
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        String url = "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // Passed as command line arguments, which take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=ERROR",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(OmnilifeApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates wallets in bulk.
+     *
+     * @param walletService the wallet service of the context
+     * @param count         the number of wallets to create
+     * @return the account numbers of the created wallets, in creation order
+     */
+    static List<String> createWallets(WalletService walletService, int count) {
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (int from = 0; from < count; from += BULK_SIZE) {
+            int size = Math.min(BULK_SIZE, count - from);
+            List<WalletController.CreateWalletRequest> wallets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                wallets.add(new WalletController.CreateWalletRequest("Benchmark " + (from + i), "USD"));
+            }
+            walletService.createWalletsBulk(wallets, accountNumbers::addAll);
+        }
+        return accountNumbers;
+    }
+
+    /**
+     * Deposits the same amount into each of the given wallets.
+     */
+    static void fundWallets(WalletService walletService, List<String> accountNumbers, BigDecimal amount) {
+        for (String accountNumber : accountNumbers) {
+            walletService.fundWallet(accountNumber, amount);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.omnilife.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks selected by the JMH command line arguments and compares their scores with a
+ * checked-in baseline.
+ *
+ * Results are written to target/jmh-result.json. A benchmark has regressed when its score is worse
+ * than the baseline by more than the threshold: lower for throughput, higher for time per operation.
+ * The runner then exits with status 1. Scores depend on the machine, so the baseline is only
+ * meaningful on the machine it was recorded on; record a new one with benchmark.update-baseline=true.
+ *
+ * System properties:
+ * - benchmark.baseline: the baseline file, in JMH's JSON result format
+ * - benchmark.regression-threshold: the tolerated relative change, e.g. 0.25
+ * - benchmark.update-baseline: if true, the results replace the baseline instead of being compared
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULT_FILE = Path.of("target", "jmh-result.json");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Path baseline = Path.of(System.getProperty("benchmark.baseline", "src/jmh/baseline.json"));
+        if (Boolean.getBoolean("benchmark.update-baseline")) {
+            Files.copy(RESULT_FILE, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + ", nothing to compare");
+            return;
+        }
+        double threshold = Double.parseDouble(System.getProperty("benchmark.regression-threshold", "0.25"));
+        if (compare(results, readBaseline(baseline), threshold) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints each result next to its baseline score.
+     *
+     * @return the number of regressed benchmarks
+     */
+    private static int compare(Collection<RunResult> results, Map<String, Double> baseline, double threshold) {
+        int regressions = 0;
+        System.out.println();
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Score", "Change");
+        for (RunResult result : results) {
+            String key = key(result.getParams().getBenchmark(), result.getParams().getMode().shortLabel(),
+                    paramsOf(result));
+            double score = result.getPrimaryResult().getScore();
+            Double expected = baseline.get(key);
+            if (expected == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", key, "-", score, "new");
+                continue;
+            }
+            double change = (score - expected) / expected;
+            boolean higherIsBetter = result.getParams().getMode().shortLabel().equals("thrpt");
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", key, expected, score, 100 * change,
+                    regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, 100 * threshold);
+        }
+        return regressions;
+    }
+
+    private static Map<String, Double> readBaseline(Path baseline) throws IOException {
+        Map<String, Double> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(baseline.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = paramsNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            scores.put(key(run.get("benchmark").asText(), run.get("mode").asText(), params),
+                    run.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+
+    private static Map<String, String> paramsOf(RunResult result) {
+        Map<String, String> params = new TreeMap<>();
+        for (String name : result.getParams().getParamsKeys()) {
+            params.put(name, result.getParams().getParam(name));
+        }
+        return params;
+    }
+
+    private static String key(String benchmark, String mode, Map<String, String> params) {
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        return name + " " + mode + (params.isEmpty() ? "" : " " + params);
+    }
+}
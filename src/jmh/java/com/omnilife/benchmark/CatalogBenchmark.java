@@ -0,0 +1,92 @@
+package com.omnilife.benchmark;
+
+import com.omnilife.modules.commerce.dto.ProductView;
+import com.omnilife.modules.commerce.service.CatalogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of CatalogService.getAllProducts with 10 and 10,000 products in the catalog, each with
+ * an inventory row. The products are inserted with plain JDBC batches in place of the products
+ * seeded on startup.
+ *
+ * getAllProducts looks up the inventory of every product with a query of its own, and
+ * inventory.product_id has no index, so the time per call grows with the square of the catalog
+ * size. A catalog of 100,000 products, where a single call takes minutes, is measured by
+ * LargeCatalogBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CatalogBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10", "10000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private CatalogService catalogService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        catalogService = context.getBean(CatalogService.class);
+        seedCatalog(context.getBean(JdbcTemplate.class), products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductView> getAllProducts() {
+        return catalogService.getAllProducts();
+    }
+
+    /**
+     * Replaces the catalog with the given number of products, each with an inventory row.
+     */
+    static void seedCatalog(JdbcTemplate jdbcTemplate, int products) {
+        jdbcTemplate.update("delete from inventory");
+        jdbcTemplate.update("delete from products");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 1; from <= products; from += BATCH_SIZE) {
+            List<Object[]> productRows = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> inventoryRows = new ArrayList<>(BATCH_SIZE);
+            for (long id = from; id < from + BATCH_SIZE && id <= products; id++) {
+                productRows.add(new Object[]{id, "SKU-" + id, "Product " + id, "Description of product " + id,
+                        BigDecimal.valueOf(id % 100_000, 2)});
+                inventoryRows.add(new Object[]{id, (int) (id % 50), now});
+            }
+            jdbcTemplate.batchUpdate("insert into products (id, sku, name, description, price) values (?, ?, ?, ?, ?)",
+                    productRows);
+            jdbcTemplate.batchUpdate("insert into inventory (product_id, quantity, last_updated) values (?, ?, ?)",
+                    inventoryRows);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.omnilife.benchmark;
+
+import com.omnilife.modules.commerce.dto.ProductView;
+import com.omnilife.modules.commerce.service.CatalogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of CatalogService.getAllProducts with 100,000 products in the catalog; see
+ * CatalogBenchmark. A single call takes minutes, so each iteration times one call, without
+ * warmup iterations: the call itself is long enough for the JIT to compile its hot paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+public class LargeCatalogBenchmark {
+
+    @Param({"100000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private CatalogService catalogService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        catalogService = context.getBean(CatalogService.class);
+        CatalogBenchmark.seedCatalog(context.getBean(JdbcTemplate.class), products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductView> getAllProducts() {
+        return catalogService.getAllProducts();
+    }
+}
@@ -0,0 +1,112 @@
+package com.omnilife.benchmark;
+
+import com.omnilife.modules.finance.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of WalletService.transferFunds with the default (pessimistic) transfer engine, from
+ * several threads at once:
+ *
+ * - uncontended: every thread transfers between its own two accounts, so no two transactions wait
+ *   for the same row lock;
+ * - hot_account: every thread transfers from its own account to one shared hot account, whose
+ *   credits are spread over sub-balance slots;
+ * - random_pairs: every transfer goes between two accounts picked at random from a pool, so
+ *   transfers collide now and then and may wait for each other's locks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TransferBenchmark {
+
+    private static final int POOL_SIZE = 1000;
+    private static final int THREAD_ACCOUNTS = 2 * 64;
+    private static final BigDecimal FUNDING = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"uncontended", "hot_account", "random_pairs"})
+    public String scenario;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private List<String> accounts;
+    private String hotAccount;
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        walletService = context.getBean(WalletService.class);
+        accounts = BenchmarkApplication.createWallets(walletService,
+                scenario.equals("random_pairs") ? POOL_SIZE : THREAD_ACCOUNTS);
+        BenchmarkApplication.fundWallets(walletService, accounts, FUNDING);
+        if (scenario.equals("hot_account")) {
+            hotAccount = BenchmarkApplication.createWallets(walletService, 1).get(0);
+            walletService.enableHotAccount(hotAccount, null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The accounts a benchmark thread transfers between.
+     */
+    @State(Scope.Thread)
+    public static class ThreadAccounts {
+
+        String from;
+        String to;
+        final SplittableRandom random = new SplittableRandom();
+
+        @Setup(Level.Trial)
+        public void setUp(TransferBenchmark benchmark) {
+            int thread = benchmark.nextThread.getAndIncrement();
+            if (2 * thread + 1 >= THREAD_ACCOUNTS) {
+                throw new IllegalStateException("At most " + THREAD_ACCOUNTS / 2 + " threads are supported");
+            }
+            from = benchmark.accounts.get(2 * thread);
+            to = benchmark.hotAccount != null ? benchmark.hotAccount : benchmark.accounts.get(2 * thread + 1);
+        }
+    }
+
+    @Benchmark
+    public UUID transfer(ThreadAccounts thread) {
+        if (scenario.equals("random_pairs")) {
+            int from = thread.random.nextInt(POOL_SIZE);
+            int to = thread.random.nextInt(POOL_SIZE - 1);
+            if (to >= from) {
+                to++;
+            }
+            return walletService.transferFunds(accounts.get(from), accounts.get(to), AMOUNT);
+        }
+        return walletService.transferFunds(thread.from, thread.to, AMOUNT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.omnilife.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error count of one endpoint, recorded from many threads.
+ *
+ * Latencies are kept in an HdrHistogram with three significant digits, from one microsecond to one
+ * minute, so that the high percentiles are exact to within 0.1% regardless of the request count.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    final String endpoint;
+    private final Recorder recorder = new Recorder(1, MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Histogram accumulated = new Histogram(1, MAX_LATENCY_MICROS, 3);
+    private long accumulatedErrors;
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records a request.
+     *
+     * @param latencyNanos the time from the intended start of the request until its response
+     * @param failed       whether the request failed or was answered with an error status
+     */
+    void record(long latencyNanos, boolean failed) {
+        long micros = Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)), MAX_LATENCY_MICROS);
+        recorder.recordValue(micros);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of the warmup.
+     */
+    synchronized void reset() {
+        recorder.reset();
+        errors.reset();
+        accumulated.reset();
+        accumulatedErrors = 0;
+    }
+
+    /**
+     * Adds the requests recorded since the previous call to the totals and returns them.
+     *
+     * @return the requests recorded since the previous call
+     */
+    synchronized Interval sample() {
+        Histogram interval = recorder.getIntervalHistogram();
+        long intervalErrors = errors.sumThenReset();
+        accumulated.add(interval);
+        accumulatedErrors += intervalErrors;
+        return new Interval(interval, intervalErrors);
+    }
+
+    /**
+     * Returns the totals since the last reset, including the requests not yet sampled.
+     */
+    synchronized Interval total() {
+        sample();
+        return new Interval(accumulated.copy(), accumulatedErrors);
+    }
+
+    /**
+     * The latencies, in microseconds, and the error count of a period.
+     */
+    record Interval(Histogram latencies, long errors) {
+
+        long requests() {
+            return latencies.getTotalCount();
+        }
+
+        double percentileMillis(double percentile) {
+            return requests() == 0 ? 0 : latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double maxMillis() {
+            return requests() == 0 ? 0 : latencies.getMaxValue() / 1000.0;
+        }
+    }
+}
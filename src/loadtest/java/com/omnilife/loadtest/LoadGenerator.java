@@ -0,0 +1,372 @@
+package com.omnilife.loadtest;
+
+import com.omnilife.OmnilifeApplication;
+import com.omnilife.loadtest.Scenario.Operation;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * HTTP load generator for capacity tests of the finance and commerce APIs.
+ *
+ * Unless a --target is given, the application is started in this JVM on a free port with a fresh
+ * in-memory H2 database, so the generator and the application share the machine's CPUs; use a
+ * separate instance on MySQL for figures that carry over to production. The generator creates and
+ * funds wallets and adds products, then drives a scenario's mix of balance reads, transfers and
+ * catalog reads for a warmup period and a measured period, and reports throughput and latency
+ * percentiles per endpoint.
+ *
+ * Balance reads and the receivers of transfers follow a Zipfian distribution over the wallets, so
+ * a few hot wallets get most of the traffic; senders are picked uniformly. Transfers move 0.01
+ * from a wallet funded with 1,000,000.00, so they do not run out of funds.
+ *
+ * With --rate, requests are started at that fixed rate regardless of how fast they complete (open
+ * loop), and each latency is measured from the time the request should have started. Once the
+ * application falls behind, the queueing delay thus shows up in the percentiles instead of being
+ * hidden by a slower request rate. --concurrency then bounds the requests in flight. Without
+ * --rate, --concurrency clients each send their next request as soon as the previous one completed
+ * (closed loop), which finds the saturation throughput.
+ *
+ * Options, all of the form --name=value:
+ * - target: base URL of a running instance, e.g. http://localhost:8080 (default: start one)
+ * - scenario: mixed, transfer-heavy, read-heavy or catalog (default mixed)
+ * - accounts: wallets to create (default 10000)
+ * - products: products to add to the catalog (default 100)
+ * - zipf-exponent: skew of the wallet popularity (default 0.99)
+ * - hot-accounts: number of most popular wallets turned into hot accounts (default 0)
+ * - rate: requests per second, or 0 for a closed loop (default 0)
+ * - concurrency: clients, or the maximum requests in flight with a rate (default 64)
+ * - warmup-seconds, duration-seconds, report-interval-seconds (default 10, 60, 10)
+ * - report: CSV file for the final report (default target/loadtest-report.csv)
+ * - app.*: properties of the started application, e.g. --app.omnilife.finance.transfer.engine=optimistic
+ */
+public final class LoadGenerator {
+
+    private static final BigDecimal FUNDING = new BigDecimal("1000000.00");
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("0.01");
+    private static final int BULK_SIZE = 100_000;
+
+    private final OmnilifeClient client;
+    private final Scenario scenario;
+    private final int concurrency;
+    private final ZipfianSampler zipf;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private List<String> accountNumbers;
+    private long[] accountIds;
+
+    private LoadGenerator(OmnilifeClient client, Scenario scenario, int accounts, double zipfExponent, int concurrency) {
+        this.client = client;
+        this.scenario = scenario;
+        this.concurrency = concurrency;
+        this.zipf = new ZipfianSampler(accounts, zipfExponent);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must have the form --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (name.startsWith("app.")) {
+                appArgs.add("--" + arg.substring("--app.".length()));
+            } else {
+                options.put(name, arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        Scenario scenario = Scenario.parse(options.getOrDefault("scenario", "mixed"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "10000"));
+        int products = Integer.parseInt(options.getOrDefault("products", "100"));
+        double zipfExponent = Double.parseDouble(options.getOrDefault("zipf-exponent", "0.99"));
+        int hotAccounts = Integer.parseInt(options.getOrDefault("hot-accounts", "0"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "60"));
+        int reportIntervalSeconds = Integer.parseInt(options.getOrDefault("report-interval-seconds", "10"));
+        Path report = Path.of(options.getOrDefault("report", "target/loadtest-report.csv"));
+        if (accounts < 2) {
+            throw new IllegalArgumentException("At least two accounts are required");
+        }
+
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        if (target == null) {
+            System.out.println("Starting the application on an in-memory H2 database...");
+            context = startApplication(appArgs);
+            target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(new OmnilifeClient(target), scenario, accounts,
+                    zipfExponent, concurrency);
+            System.out.printf("Target %s, scenario %s%n", target, scenario);
+            generator.setUp(accounts, hotAccounts, products);
+            System.out.printf("The 10 most popular of %d wallets receive %.1f%% of balance reads and transfer credits%n",
+                    accounts, 100 * generator.zipf.share(10));
+            System.out.printf("%s, %s for %d s after %d s of warmup%n",
+                    rate > 0 ? String.format(Locale.ROOT, "Open loop at %.0f requests/s", rate) : "Closed loop",
+                    rate > 0 ? "at most " + concurrency + " requests in flight" : concurrency + " clients",
+                    durationSeconds, warmupSeconds);
+            generator.run(rate, warmupSeconds, durationSeconds, reportIntervalSeconds);
+            generator.report(durationSeconds, report);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(List<String> appArgs) {
+        String url = "jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // Passed as command line arguments, which take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=ERROR",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false"));
+        args.addAll(appArgs);
+        return new SpringApplicationBuilder(OmnilifeApplication.class)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates and funds the wallets, turns the most popular ones into hot accounts and fills the catalog.
+     */
+    private void setUp(int accounts, int hotAccounts, int products) throws Exception {
+        long start = System.nanoTime();
+        accountNumbers = new ArrayList<>(accounts);
+        for (int from = 0; from < accounts; from += BULK_SIZE) {
+            accountNumbers.addAll(client.createWallets(Math.min(BULK_SIZE, accounts - from)));
+        }
+        accountIds = new long[accounts];
+        forEachConcurrently(accounts, i -> accountIds[i] = client.deposit(accountNumbers.get(i), FUNDING));
+        for (int rank = 0; rank < Math.min(hotAccounts, accounts); rank++) {
+            client.enableHotAccount(accountNumbers.get(rank));
+        }
+        forEachConcurrently(products, client::addProduct);
+        System.out.printf("Created and funded %d wallets (%d hot) and added %d products in %d s%n",
+                accounts, Math.min(hotAccounts, accounts), products,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Drives the scenario for the warmup and the measured period, printing interval statistics.
+     */
+    private void run(double rate, int warmupSeconds, int durationSeconds, int reportIntervalSeconds)
+            throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> drivers = new ArrayList<>();
+            if (rate > 0) {
+                drivers.add(executor.submit(() -> openLoop(executor, rate, start, end)));
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    drivers.add(executor.submit(() -> closedLoop(end)));
+                }
+            }
+
+            boolean measuring = false;
+            long nextReport = start + TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+            while (System.nanoTime() < end) {
+                long now = System.nanoTime();
+                if (!measuring && now >= measureFrom) {
+                    stats.values().forEach(EndpointStats::reset);
+                    measuring = true;
+                    nextReport = now + TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+                    System.out.println("Warmup done, measuring");
+                } else if (now >= nextReport) {
+                    printInterval(measuring ? "measure" : "warmup", reportIntervalSeconds);
+                    nextReport += TimeUnit.SECONDS.toNanos(reportIntervalSeconds);
+                }
+                Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(
+                        Math.min(nextReport, measuring ? end : measureFrom) - System.nanoTime())));
+            }
+            for (Future<?> driver : drivers) {
+                driver.get();
+            }
+        }
+    }
+
+    private void closedLoop(long end) {
+        SplittableRandom random = new SplittableRandom();
+        while (System.nanoTime() < end) {
+            Operation operation = scenario.next(random);
+            long started = System.nanoTime();
+            boolean succeeded = execute(operation, random);
+            stats.get(operation).record(System.nanoTime() - started, !succeeded);
+        }
+    }
+
+    private void openLoop(ExecutorService executor, double rate, long start, long end) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * periodNanos);
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquireUninterruptibly();
+            executor.submit(() -> {
+                try {
+                    RandomGenerator random = ThreadLocalRandom.current();
+                    Operation operation = scenario.next(random);
+                    boolean succeeded = execute(operation, random);
+                    stats.get(operation).record(System.nanoTime() - intended, !succeeded);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends one request of the given kind.
+     *
+     * @return true if it was answered with a 2xx status
+     */
+    private boolean execute(Operation operation, RandomGenerator random) {
+        try {
+            int status = switch (operation) {
+                case BALANCE_READ -> client.getWallet(accountIds[zipf.next(random)]);
+                case TRANSFER -> {
+                    int to = zipf.next(random);
+                    int from = random.nextInt(accountNumbers.size() - 1);
+                    if (from >= to) {
+                        from++;
+                    }
+                    yield client.transfer(accountNumbers.get(from), accountNumbers.get(to), TRANSFER_AMOUNT);
+                }
+                case CATALOG_READ -> client.getProducts();
+            };
+            return status / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void printInterval(String phase, int seconds) {
+        StringBuilder line = new StringBuilder(String.format("[%s]", phase));
+        for (EndpointStats endpoint : stats.values()) {
+            EndpointStats.Interval interval = endpoint.sample();
+            if (interval.requests() > 0) {
+                line.append(String.format(Locale.ROOT, "  %s: %.0f/s p99 %.1f ms", endpoint.endpoint,
+                        (double) interval.requests() / seconds, interval.percentileMillis(99)));
+            }
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Prints the throughput and latency percentiles of the measured period per endpoint and writes
+     * them to a CSV file.
+     */
+    private void report(int durationSeconds, Path file) throws IOException {
+        String header = String.format("%-34s %10s %8s %10s %9s %9s %9s %9s",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        System.out.println();
+        System.out.println(header);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(file))) {
+            csv.println("endpoint,requests,errors,requests_per_second,p50_ms,p99_ms,p999_ms,max_ms");
+            long totalRequests = 0;
+            long totalErrors = 0;
+            for (EndpointStats endpoint : stats.values()) {
+                EndpointStats.Interval total = endpoint.total();
+                if (total.requests() == 0) {
+                    continue;
+                }
+                totalRequests += total.requests();
+                totalErrors += total.errors();
+                double throughput = (double) total.requests() / durationSeconds;
+                System.out.println(String.format(Locale.ROOT, "%-34s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                        endpoint.endpoint, total.requests(), total.errors(), throughput,
+                        total.percentileMillis(50), total.percentileMillis(99), total.percentileMillis(99.9),
+                        total.maxMillis()));
+                csv.println(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                        endpoint.endpoint, total.requests(), total.errors(), throughput,
+                        total.percentileMillis(50), total.percentileMillis(99), total.percentileMillis(99.9),
+                        total.maxMillis()));
+            }
+            System.out.println(String.format(Locale.ROOT, "%-34s %10d %8d %10.1f", "Total", totalRequests,
+                    totalErrors, (double) totalRequests / durationSeconds));
+        }
+        System.out.println("Report written to " + file);
+    }
+
+    /**
+     * Runs a setup action for indices 0..count-1 with up to the configured concurrency.
+     */
+    private void forEachConcurrently(int count, IndexedAction action) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<?>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        action.run(index);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedAction {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,154 @@
+package com.omnilife.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The HTTP calls of the load generator against the /api/finance and /api/commerce endpoints.
+ *
+ * One HttpClient is shared by all requests and keeps its connections alive, as a client behind a
+ * connection-pooling gateway would.
+ */
+final class OmnilifeClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    OmnilifeClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Creates wallets with one bulk request and returns their account numbers in request order.
+     */
+    List<String> createWallets(int count) throws IOException, InterruptedException {
+        List<Map<String, String>> wallets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            wallets.add(Map.of("name", "Load test " + i, "currency", "USD"));
+        }
+        HttpResponse<String> response = send(post("/api/finance/wallets/bulk", Map.of("wallets", wallets)));
+        requireSuccess(response, "Bulk wallet creation");
+
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (String line : response.body().split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line);
+            if (node.has("error")) {
+                throw new IllegalStateException("Bulk wallet creation failed: " + node.get("error").asText());
+            }
+            accountNumbers.add(node.get("accountNumber").asText());
+        }
+        return accountNumbers;
+    }
+
+    /**
+     * Deposits into a wallet and returns its ID.
+     */
+    long deposit(String accountNumber, BigDecimal amount) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/finance/wallets/" + accountNumber + "/deposit",
+                Map.of("amount", amount)));
+        requireSuccess(response, "Deposit");
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    /**
+     * Turns a wallet into a hot account with the default number of slots.
+     */
+    void enableHotAccount(String accountNumber) throws IOException, InterruptedException {
+        requireSuccess(send(post("/api/finance/wallets/" + accountNumber + "/hot", Map.of())), "Enabling hot account");
+    }
+
+    /**
+     * Adds a product to the catalog.
+     */
+    void addProduct(int index) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/commerce/products", Map.of(
+                "name", "Load test product " + index,
+                "sku", "LT-" + System.nanoTime() + "-" + index,
+                "price", BigDecimal.valueOf(100 + index % 10_000, 2),
+                "stock", index % 50)));
+        requireSuccess(response, "Adding product");
+    }
+
+    /**
+     * Reads a wallet's balance.
+     *
+     * @return the HTTP status
+     */
+    int getWallet(long id) throws IOException, InterruptedException {
+        return sendDiscarding(get("/api/finance/wallets/" + id));
+    }
+
+    /**
+     * Transfers an amount between two wallets.
+     *
+     * @return the HTTP status
+     */
+    int transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount)
+            throws IOException, InterruptedException {
+        return sendDiscarding(post("/api/finance/transfer",
+                Map.of("fromUser", fromAccountNumber, "toUser", toAccountNumber, "amount", amount)));
+    }
+
+    /**
+     * Reads the product catalog.
+     *
+     * @return the HTTP status
+     */
+    int getProducts() throws IOException, InterruptedException {
+        return sendDiscarding(get("/api/commerce/products"));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends a request and reads its whole response, without keeping it, as a client would.
+     */
+    private int sendDiscarding(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void requireSuccess(HttpResponse<String> response, String operation) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(operation + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+    }
+}
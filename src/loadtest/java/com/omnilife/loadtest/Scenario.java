@@ -0,0 +1,74 @@
+package com.omnilife.loadtest;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * The request mixes the load generator can drive, as percentages of balance reads, transfers and
+ * catalog reads.
+ */
+enum Scenario {
+
+    /** Day-to-day traffic: mostly balance checks, some payments, some browsing. */
+    MIXED(70, 20, 10),
+    /** A payment peak, e.g. a partner's settlement run. */
+    TRANSFER_HEAVY(30, 65, 5),
+    /** Traffic dominated by dashboards and balance polling. */
+    READ_HEAVY(90, 5, 5),
+    /** Catalog browsing only. */
+    CATALOG(0, 0, 100);
+
+    /**
+     * The kinds of request issued by the load generator.
+     */
+    enum Operation {
+        BALANCE_READ("GET /api/finance/wallets/{id}"),
+        TRANSFER("POST /api/finance/transfer"),
+        CATALOG_READ("GET /api/commerce/products");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private final int balanceReadPercent;
+    private final int transferPercent;
+    private final int catalogReadPercent;
+
+    Scenario(int balanceReadPercent, int transferPercent, int catalogReadPercent) {
+        this.balanceReadPercent = balanceReadPercent;
+        this.transferPercent = transferPercent;
+        this.catalogReadPercent = catalogReadPercent;
+    }
+
+    /**
+     * Picks the next operation according to the mix.
+     */
+    Operation next(RandomGenerator random) {
+        int roll = random.nextInt(100);
+        if (roll < balanceReadPercent) {
+            return Operation.BALANCE_READ;
+        }
+        if (roll < balanceReadPercent + transferPercent) {
+            return Operation.TRANSFER;
+        }
+        return Operation.CATALOG_READ;
+    }
+
+    /**
+     * Parses a scenario name such as "mixed" or "transfer-heavy".
+     *
+     * @throws IllegalArgumentException if there is no such scenario
+     */
+    static Scenario parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-') + " (" + balanceReadPercent + "% balance reads, "
+                + transferPercent + "% transfers, " + catalogReadPercent + "% catalog reads)";
+    }
+}
@@ -0,0 +1,48 @@
+package com.omnilife.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, so that a few
+ * accounts receive most of the traffic, as popular merchants do. With the exponent 0.99 used by
+ * YCSB and 10,000 accounts, the most popular account gets about 10% of the samples and the top
+ * 1% of accounts about half.
+ *
+ * The cumulative distribution is precomputed, so a sample costs one binary search.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("At least one rank is required");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Returns the next rank, 0 being the most popular.
+     */
+    int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Returns the share of samples that fall on the given number of most popular ranks.
+     */
+    double share(int ranks) {
+        return ranks <= 0 ? 0 : cumulative[Math.min(ranks, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,184 @@
+package com.omnilife.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded in-process cache with least-recently-used eviction and an optional time to live.
+ *
+ * The cache is split into segments by key hash, each a LinkedHashMap in access order guarded by
+ * its own monitor, so that concurrent callers with different keys rarely wait for each other.
+ * Hits, misses and evictions are counted for monitoring.
+ *
+ * Read-through callers that load a value from the database should take a stamp before loading
+ * and store the value with putIfNotInvalidated: if the key's segment was invalidated in between,
+ * the loaded value may predate the change that caused the invalidation and is not cached.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SegmentedLruCache<K, V> {
+
+    private static final int SEGMENTS = 64;
+
+    @SuppressWarnings("unchecked")
+    private final Segment<K, V>[] segments = new Segment[SEGMENTS];
+    private final long timeToLiveMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize          the maximum number of entries, spread evenly over the segments
+     * @param timeToLiveMillis the time after which an entry expires, or 0 for no expiry
+     */
+    public SegmentedLruCache(int maxSize, long timeToLiveMillis) {
+        int segmentCapacity = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions);
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    /**
+     * Returns the cached value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if it is absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            Timed<V> entry = segment.get(key);
+            if (entry != null && timeToLiveMillis > 0 && entry.expiresAt() <= System.currentTimeMillis()) {
+                segment.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    /**
+     * Stores a value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, timed(value));
+        }
+    }
+
+    /**
+     * Returns a stamp to pass to putIfNotInvalidated after loading the value of a key.
+     *
+     * @param key the key about to be loaded
+     * @return the invalidation stamp of the key's segment
+     */
+    public long stamp(K key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            return segment.invalidations;
+        }
+    }
+
+    /**
+     * Stores a loaded value unless the key's segment was invalidated since the stamp was taken.
+     *
+     * @param key   the key
+     * @param value the value loaded after taking the stamp
+     * @param stamp the stamp returned by stamp(key) before loading
+     * @return true if the value was stored
+     */
+    public boolean putIfNotInvalidated(K key, V value, long stamp) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            if (segment.invalidations != stamp) {
+                return false;
+            }
+            segment.put(key, timed(value));
+            return true;
+        }
+    }
+
+    /**
+     * Removes a key, and makes pending loads of keys in the same segment skip caching.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.remove(key);
+            segment.invalidations++;
+        }
+    }
+
+    /**
+     * Returns the current number of entries, including expired entries not yet removed.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private Timed<V> timed(V value) {
+        return new Timed<>(value, timeToLiveMillis > 0 ? System.currentTimeMillis() + timeToLiveMillis : 0);
+    }
+
+    private Segment<K, V> segment(K key) {
+        return segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+    }
+
+    private record Timed<V>(V value, long expiresAt) {
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Timed<V>> {
+
+        private final int capacity;
+        private final LongAdder evictions;
+        private long invalidations;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.omnilife.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Enables @Async methods, such as the asynchronous domain event listeners run after a ledger
+ * transaction commits.
+ *
+ * They run on an executor of their own, with a fixed number of threads and a bounded queue, rather
+ * than on Spring Boot's task executor, which Spring MVC also uses for streamed responses such as
+ * journal exports and bulk onboarding. The executor is deliberately not a bean, as any Executor
+ * bean would replace Spring Boot's.
+ *
+ * A listener never runs on the thread that published its event, which is a request thread or the
+ * sequencer write-behind thread. When the queue is full, the event is dropped: its publication stays
+ * incomplete in the registry and is delivered again once it is resubmitted (see
+ * EventPublicationMaintenance). At shutdown, running listeners are interrupted and queued ones
+ * dropped in the same way, to be republished on restart.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final ThreadPoolTaskExecutor eventListenerExecutor = new ThreadPoolTaskExecutor();
+
+    public AsyncConfig(@Value("${omnilife.events.listener-threads:8}") int listenerThreads,
+                       @Value("${omnilife.events.listener-queue-capacity:10000}") int listenerQueueCapacity) {
+        eventListenerExecutor.setCorePoolSize(listenerThreads);
+        eventListenerExecutor.setMaxPoolSize(listenerThreads);
+        eventListenerExecutor.setQueueCapacity(listenerQueueCapacity);
+        eventListenerExecutor.setThreadNamePrefix("event-");
+        eventListenerExecutor.setRejectedExecutionHandler((task, executor) ->
+                log.warn("Event listener queue is full; the event is left to the publication registry for redelivery"));
+        eventListenerExecutor.initialize();
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return eventListenerExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        eventListenerExecutor.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package com.omnilife.common.config;
+
+import com.omnilife.common.exception.ServerBusyException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of API requests handled at once.
+ *
+ * On platform threads, Tomcat's worker pool bounds the requests in progress. On virtual threads
+ * there is no such bound, and every request beyond the database connection pool would wait inside
+ * Hikari until its connection timeout and then fail with a server error. With this limit, requests
+ * beyond it wait in a fair queue for up to the queue timeout and are then rejected with HTTP 503,
+ * before they have taken any locks or connections. The limit should be a small multiple of the
+ * connection pool size, as most requests hold a connection for only part of their time.
+ *
+ * Only active when omnilife.web.concurrency-limit.max-requests is set. A streamed response keeps
+ * its permit until it has been written.
+ */
+@Configuration
+@ConditionalOnProperty("omnilife.web.concurrency-limit.max-requests")
+public class RequestConcurrencyConfig implements WebMvcConfigurer {
+
+    private final int maxRequests;
+    private final long queueTimeoutMillis;
+
+    public RequestConcurrencyConfig(@Value("${omnilife.web.concurrency-limit.max-requests}") int maxRequests,
+                                    @Value("${omnilife.web.concurrency-limit.queue-timeout-ms:1000}") long queueTimeoutMillis) {
+        this.maxRequests = maxRequests;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(maxRequests, queueTimeoutMillis))
+                .addPathPatterns("/api/**");
+    }
+
+    /**
+     * Takes a permit before the handler runs and returns it once the request has completed,
+     * including the asynchronous part of a streamed response.
+     */
+    static final class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+        private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".PERMIT";
+
+        private final Semaphore permits;
+        private final long queueTimeoutMillis;
+
+        ConcurrencyLimitInterceptor(int maxRequests, long queueTimeoutMillis) {
+            this.permits = new Semaphore(maxRequests, true);
+            this.queueTimeoutMillis = queueTimeoutMillis;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            // The dispatch that completes an asynchronous request still holds the permit of the first
+            if (request.getDispatcherType() == DispatcherType.ASYNC) {
+                return true;
+            }
+            try {
+                if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new ServerBusyException();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerBusyException("Interrupted while waiting to be admitted", e);
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+                request.removeAttribute(PERMIT_ATTRIBUTE);
+                permits.release();
+            }
+        }
+    }
+}
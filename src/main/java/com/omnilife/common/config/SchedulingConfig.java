@@ -0,0 +1,12 @@
+package com.omnilife.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs, such as the balance snapshot job of the finance module.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
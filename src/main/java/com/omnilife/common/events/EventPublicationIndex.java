@@ -0,0 +1,70 @@
+package com.omnilife.common.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates an index on the serialized events of the Spring Modulith event publication registry.
+ *
+ * When a listener completes, the registry marks its publication complete by an UPDATE on the
+ * serialized event and listener ID, for which it declares no index. Without one, every completion
+ * scans the whole table, including the completed rows kept for the retention period, so a burst of
+ * events, such as a large batch transfer, takes quadratic time to complete. Serialized events start
+ * with the transaction ID of the event, so on MySQL a prefix of the TEXT column is already selective.
+ *
+ * The index is created at startup, after the EntityManagerFactory and thus after ddl-auto has
+ * created the table. Failing to create it only costs performance, so startup continues.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EventPublicationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPublicationIndex.class);
+
+    private static final String TABLE = "event_publication";
+    private static final String INDEX = "idx_event_publication_event";
+    private static final int MYSQL_PREFIX_LENGTH = 255;
+
+    public EventPublicationIndex(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            createIndexIfMissing(connection);
+        } catch (SQLException e) {
+            log.error("Could not create index {} on {}; completing event publications will scan the table",
+                    INDEX, TABLE, e);
+        }
+    }
+
+    private static void createIndexIfMissing(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, TABLE, null)) {
+            if (!tables.next()) {
+                log.warn("Table {} not found, index {} not created", TABLE, INDEX);
+                return;
+            }
+        }
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, TABLE, false, false)) {
+            while (indexes.next()) {
+                if (INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+
+        String column = "MySQL".equals(metaData.getDatabaseProductName())
+                ? "serialized_event(" + MYSQL_PREFIX_LENGTH + ")"
+                : "serialized_event";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + INDEX + " ON " + TABLE + " (" + column + ")");
+        }
+        log.info("Created index {} on {}", INDEX, TABLE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.omnilife.common.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Maintains the event publication registry of Spring Modulith (table event_publication).
+ *
+ * Domain events are written to the registry in the transaction that publishes them, one row per
+ * transactional listener, and the row is marked complete once the listener succeeded. A row stays
+ * incomplete if its listener failed or the instance stopped before the listener ran. Such rows
+ * are resubmitted once they are older than the configured age, which must exceed the time a
+ * listener normally takes, as a listener still running would otherwise receive the event twice.
+ * Incomplete rows are also resubmitted when the application starts. Listeners must be idempotent
+ * in any case, since several instances may resubmit the same row.
+ *
+ * Completed rows are deleted after the retention period, so the registry only grows with
+ * events whose listeners keep failing.
+ */
+@Component
+public class EventPublicationMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPublicationMaintenance.class);
+
+    private final IncompleteEventPublications incompletePublications;
+    private final CompletedEventPublications completedPublications;
+    private final Duration resubmitAfter;
+    private final Duration retention;
+
+    public EventPublicationMaintenance(IncompleteEventPublications incompletePublications,
+                                       CompletedEventPublications completedPublications,
+                                       @Value("${omnilife.events.resubmit-after-ms:300000}") long resubmitAfterMillis,
+                                       @Value("${omnilife.events.retention-ms:604800000}") long retentionMillis) {
+        this.incompletePublications = incompletePublications;
+        this.completedPublications = completedPublications;
+        this.resubmitAfter = Duration.ofMillis(resubmitAfterMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    /**
+     * Resubmits events whose listeners have not completed within the configured age.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.events.resubmit-interval-ms:60000}",
+            initialDelayString = "${omnilife.events.resubmit-interval-ms:60000}")
+    public void resubmitIncomplete() {
+        try {
+            incompletePublications.resubmitIncompletePublicationsOlderThan(resubmitAfter);
+        } catch (RuntimeException e) {
+            log.error("Failed to resubmit incomplete event publications, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Deletes completed event publications older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.events.purge-interval-ms:3600000}",
+            initialDelayString = "${omnilife.events.purge-interval-ms:3600000}")
+    public void purgeCompleted() {
+        try {
+            completedPublications.deletePublicationsOlderThan(retention);
+        } catch (RuntimeException e) {
+            log.error("Failed to delete completed event publications, retrying on the next run", e);
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package com.omnilife.common.exception;
 
 import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.AccountNumberSpaceExhaustedException;
 import com.omnilife.modules.finance.exception.DuplicateAccountNumberException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.IdempotencyKeyInProgressException;
 import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.exception.ReconciliationInProgressException;
+import com.omnilife.modules.finance.exception.TransactionOutcomeUnknownException;
+import com.omnilife.modules.finance.exception.TransferConflictException;
+import com.omnilife.modules.finance.exception.TransferNotFoundException;
+import com.omnilife.modules.finance.exception.TransferQueueFullException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -43,6 +55,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles FxRateNotFoundException.
+     * Returns HTTP 400 (Bad Request).
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(FxRateNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleFxRateNotFoundException(
+            FxRateNotFoundException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "FX Rate Not Found",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles AccountNotFoundException.
      * Returns HTTP 404 (Not Found).
@@ -115,6 +148,244 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles TransferConflictException.
+     * Returns HTTP 409 (Conflict); the client may retry the request.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(TransferConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTransferConflictException(
+            TransferConflictException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Transfer Conflict",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles IdempotencyKeyInProgressException.
+     * Returns HTTP 409 (Conflict); the client should retry the request with the same key later.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(
+            IdempotencyKeyInProgressException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Idempotency Key In Progress",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles ReconciliationInProgressException.
+     * Returns HTTP 409 (Conflict); the client may retry once the running reconciliation has finished.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleReconciliationInProgressException(
+            ReconciliationInProgressException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Reconciliation In Progress",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles TransferNotFoundException.
+     * Returns HTTP 404 (Not Found).
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 404 status
+     */
+    @ExceptionHandler(TransferNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTransferNotFoundException(
+            TransferNotFoundException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                "Transfer Not Found",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles TransferQueueFullException.
+     * Returns HTTP 503 (Service Unavailable); the client should retry the submission later.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 503 status
+     */
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleTransferQueueFullException(
+            TransferQueueFullException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Transfer Queue Full",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles TransactionOutcomeUnknownException.
+     * Returns HTTP 504 (Gateway Timeout) with the transaction ID. The transaction may still take
+     * effect: the client should look for the ID in the account history, or repeat the request with
+     * the same Idempotency-Key, rather than submit it again as a new transfer.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 504 status and the transaction ID
+     */
+    @ExceptionHandler(TransactionOutcomeUnknownException.class)
+    public ResponseEntity<Map<String, Object>> handleTransactionOutcomeUnknownException(
+            TransactionOutcomeUnknownException ex,
+            HttpServletRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        response.put("error", "Transaction Outcome Unknown");
+        response.put("path", request.getRequestURI());
+        response.put("transactionId", ex.getTransactionId().toString());
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Handles AccountNumberSpaceExhaustedException.
+     * Returns HTTP 503 (Service Unavailable): no wallet can be created until the number range is extended.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 503 status
+     */
+    @ExceptionHandler(AccountNumberSpaceExhaustedException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNumberSpaceExhaustedException(
+            AccountNumberSpaceExhaustedException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Account Number Space Exhausted",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles PessimisticLockingFailureException, raised when a row lock was not granted within the
+     * lock wait timeout or the transaction was chosen as a deadlock victim.
+     * Returns HTTP 409 (Conflict); the transaction was rolled back and the client may retry the request.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLockingFailureException(
+            PessimisticLockingFailureException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Lock Conflict",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, raised when an account row was updated concurrently
+     * after it was read.
+     * Returns HTTP 409 (Conflict); the transaction was rolled back and the client may retry the request.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Version Conflict",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles ServerBusyException and CannotCreateTransactionException, the latter raised when no
+     * database connection became available within the pool's connection timeout.
+     * Returns HTTP 503 (Service Unavailable); the client should retry the request later.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 503 status
+     */
+    @ExceptionHandler({ServerBusyException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleServerBusyException(
+            RuntimeException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server Busy",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles HttpMessageNotReadableException, raised when the request body is not valid JSON or
+     * a value cannot be converted, such as an unknown enum constant.
+     * Returns HTTP 400 (Bad Request).
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 400 status
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Malformed Request",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles IllegalArgumentException.
      * Returns HTTP 400 (Bad Request).
@@ -136,6 +407,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles UnsupportedOperationException.
+     * Returns HTTP 501 (Not Implemented).
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return error response with HTTP 501 status
+     */
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedOperationException(
+            UnsupportedOperationException ex,
+            HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_IMPLEMENTED.value(),
+                "Operation Not Supported",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(errorResponse);
+    }
+
     /**
      * Handles generic Exception (catch-all for unexpected errors).
      * Returns HTTP 500 (Internal Server Error) with a generic message.
@@ -0,0 +1,36 @@
+package com.omnilife.common.exception;
+
+/**
+ * Exception thrown when a request cannot be served because the server is at its concurrency limit
+ * or no database connection became available in time.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Too many requests are in progress; retry later";
+
+    /**
+     * Constructs a new ServerBusyException with the default message.
+     */
+    public ServerBusyException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new ServerBusyException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public ServerBusyException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ServerBusyException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public ServerBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.omnilife.common.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity ID that is assigned from blocks reserved by the IdBlockAllocator.
+ *
+ * Unlike IDENTITY, the ID is known before the INSERT, so Hibernate can group inserts of the
+ * entity into JDBC batches.
+ */
+@IdGeneratorType(BlockSequenceIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockSequenceId {
+
+    /**
+     * The table holding the entity; also used as the sequence name.
+     * The sequence starts after the highest ID already present in this table.
+     */
+    String table();
+
+    /**
+     * Number of IDs reserved per database round trip.
+     */
+    int blockSize() default 50;
+}
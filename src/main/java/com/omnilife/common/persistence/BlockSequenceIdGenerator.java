@@ -0,0 +1,26 @@
+package com.omnilife.common.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate ID generator for fields annotated with @BlockSequenceId.
+ */
+public class BlockSequenceIdGenerator implements IdentifierGenerator {
+
+    private final String table;
+    private final int blockSize;
+
+    public BlockSequenceIdGenerator(BlockSequenceId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this.table = config.table();
+        this.blockSize = config.blockSize();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return IdBlockAllocator.getInstance().nextId(table, blockSize);
+    }
+}
@@ -0,0 +1,182 @@
+package com.omnilife.common.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out entity IDs from blocks reserved in the id_block_sequences table, and reserves raw
+ * blocks of other counters that must be unique across application instances.
+ *
+ * Blocks are reserved in a short transaction on a small connection pool of its own. An ID is
+ * usually requested while the caller's transaction already holds a connection from the main pool;
+ * reserving the block on that same pool would deadlock once every main pool connection is held by
+ * a transaction waiting for the next ID. Hibernate's table-emulated sequences on MySQL have
+ * exactly this problem, which is why they are not used.
+ *
+ * The first reservation of a sequence starts after the highest ID already present in its table,
+ * so entities can be switched to block IDs on an existing database. Several application
+ * instances may share the table; the row lock on the sequence row serializes their reservations.
+ * IDs of a reserved block that are not used before shutdown are skipped.
+ *
+ * Each sequence's block is guarded by a lock rather than a monitor, as the reservation blocks on
+ * JDBC; a virtual thread waiting inside a synchronized block would pin its carrier thread.
+ */
+@Component
+public class IdBlockAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(IdBlockAllocator.class);
+
+    private static volatile IdBlockAllocator instance;
+
+    private final HikariDataSource dataSource;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdBlockAllocator(DataSourceProperties dataSourceProperties,
+                            @Value("${omnilife.id-allocator.pool-size:2}") int poolSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("IdBlockAllocatorPool");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        instance = this;
+    }
+
+    /**
+     * Returns the allocator for ID generators, which are created by Hibernate rather than Spring.
+     *
+     * @return the allocator
+     * @throws IllegalStateException if the application context has not created the allocator yet
+     */
+    static IdBlockAllocator getInstance() {
+        IdBlockAllocator allocator = instance;
+        if (allocator == null) {
+            throw new IllegalStateException("IdBlockAllocator is not initialized");
+        }
+        return allocator;
+    }
+
+    /**
+     * Returns the next ID of a sequence, reserving a new block when the current one is used up.
+     *
+     * @param table     the entity table, also used as the sequence name
+     * @param blockSize the number of IDs to reserve at once
+     * @return the next unused ID
+     */
+    public long nextId(String table, int blockSize) {
+        Block block = blocks.computeIfAbsent(table, name -> new Block());
+        block.lock.lock();
+        try {
+            if (block.next >= block.limit) {
+                block.next = reserveBlock(table, table, blockSize);
+                block.limit = block.next + blockSize;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves a block of consecutive values of a sequence that is not tied to an entity table.
+     * The first block of such a sequence starts at 0.
+     *
+     * @param sequence  the sequence name
+     * @param blockSize the number of values to reserve
+     * @return the first value of the reserved block
+     */
+    public long reserveBlock(String sequence, int blockSize) {
+        return reserveBlock(sequence, null, blockSize);
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+
+    private long reserveBlock(String sequence, String table, int blockSize) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long start = reserveBlock(connection, sequence, table, blockSize);
+                connection.commit();
+                log.debug("Reserved values {} to {} of {}", start, start + blockSize - 1, sequence);
+                return start;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve a block of values of " + sequence, e);
+        }
+    }
+
+    private long reserveBlock(Connection connection, String sequence, String table, int blockSize) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            Long next = selectNextValForUpdate(connection, sequence);
+            if (next != null) {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE id_block_sequences SET next_val = ? WHERE name = ?")) {
+                    update.setLong(1, next + blockSize);
+                    update.setString(2, sequence);
+                    update.executeUpdate();
+                }
+                return next;
+            }
+
+            // First reservation for this sequence: start after the rows that already exist
+            long start = table != null ? maxId(connection, table) + 1 : 0;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO id_block_sequences (name, next_val) VALUES (?, ?)")) {
+                insert.setString(1, sequence);
+                insert.setLong(2, start + blockSize);
+                insert.executeUpdate();
+                return start;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Another instance created the row concurrently; reserve from it instead
+                connection.rollback();
+                if (attempt > 1) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long maxId(Connection connection, String table) throws SQLException {
+        try (PreparedStatement max = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM " + table);
+             ResultSet resultSet = max.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private Long selectNextValForUpdate(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT next_val FROM id_block_sequences WHERE name = ? FOR UPDATE")) {
+            select.setString(1, sequence);
+            try (ResultSet resultSet = select.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * The reserved, not yet handed out IDs of one sequence: next up to, excluding, limit.
+     */
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+    }
+}
@@ -0,0 +1,16 @@
+package com.omnilife.common.persistence;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes the EntityManagerFactory depend on the IdBlockAllocator, so that the allocator exists
+ * before any entity with a @BlockSequenceId can be persisted.
+ */
+@Component
+public class IdBlockAllocatorDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+    public IdBlockAllocatorDependency() {
+        super(IdBlockAllocator.class);
+    }
+}
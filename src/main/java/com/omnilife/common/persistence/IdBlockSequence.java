@@ -0,0 +1,31 @@
+package com.omnilife.common.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA Entity holding the next unreserved ID of one block sequence.
+ * Only mapped so that the table is created with the schema; rows are maintained by the
+ * IdBlockAllocator with plain JDBC.
+ */
+@Entity
+@Table(name = "id_block_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdBlockSequence {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "next_val", nullable = false)
+    private long nextVal;
+}
@@ -0,0 +1,58 @@
+package com.omnilife.modules.finance.api;
+
+import com.omnilife.modules.finance.dto.AsyncTransferView;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.TransferNotFoundException;
+import com.omnilife.modules.finance.exception.TransferQueueFullException;
+import com.omnilife.modules.finance.service.AsyncTransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for transfers executed asynchronously.
+ */
+@RestController
+@RequestMapping("/api/finance")
+public class AsyncTransferController {
+
+    private final AsyncTransferService asyncTransferService;
+
+    public AsyncTransferController(AsyncTransferService asyncTransferService) {
+        this.asyncTransferService = asyncTransferService;
+    }
+
+    /**
+     * Accepts a transfer for asynchronous execution and returns without waiting for it.
+     * The Location header points to the status of the transfer.
+     *
+     * @param request the transfer request containing fromUser, toUser, and amount
+     * @return the accepted transfer, PENDING, with HTTP 202
+     * @throws AccountNotFoundException    if either account is not found
+     * @throws TransferQueueFullException if too many transfers are queued
+     */
+    @PostMapping("/transfers/async")
+    public ResponseEntity<AsyncTransferView> submitTransfer(@Valid @RequestBody WalletController.TransferRequest request) {
+        AsyncTransferView transfer = asyncTransferService.submit(
+                request.getFromUser(), request.getToUser(), request.getAmount());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/finance/transfers/" + transfer.transferId()))
+                .body(transfer);
+    }
+
+    /**
+     * Retrieves the status of an asynchronous transfer.
+     *
+     * @param transferId the transfer ID returned on submission
+     * @return the transfer
+     * @throws IllegalArgumentException  if the transfer ID is not a UUID
+     * @throws TransferNotFoundException if the transfer is not found
+     */
+    @GetMapping("/transfers/{transferId}")
+    public ResponseEntity<AsyncTransferView> getTransfer(@PathVariable String transferId) {
+        return ResponseEntity.ok(asyncTransferService.getTransfer(UUID.fromString(transferId)));
+    }
+}
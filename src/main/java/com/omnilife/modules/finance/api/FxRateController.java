@@ -0,0 +1,80 @@
+package com.omnilife.modules.finance.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.omnilife.modules.finance.domain.FxRate;
+import com.omnilife.modules.finance.dto.FxRateTable;
+import com.omnilife.modules.finance.service.FxRateService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+/**
+ * REST controller for the exchange rates used by cross-currency transfers.
+ */
+@RestController
+@RequestMapping("/api/finance")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    /**
+     * Retrieves the exchange rates transfers currently convert with, including inverted rates.
+     *
+     * @return the in-memory FxRateTable
+     */
+    @GetMapping("/fx-rates")
+    public ResponseEntity<FxRateTable> getRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    /**
+     * Creates or replaces the exchange rate from one currency to another.
+     *
+     * @param baseCurrency  the currency converted from, e.g. USD
+     * @param quoteCurrency the currency converted to, e.g. EUR
+     * @param request       the request containing the rate
+     * @return the saved FxRate
+     * @throws IllegalArgumentException if a currency code is malformed or both currencies are the same
+     */
+    @PutMapping("/fx-rates/{baseCurrency}/{quoteCurrency}")
+    public ResponseEntity<FxRate> setRate(@PathVariable String baseCurrency,
+                                          @PathVariable String quoteCurrency,
+                                          @Valid @RequestBody FxRateRequest request) {
+        return ResponseEntity.ok(fxRateService.setRate(baseCurrency, quoteCurrency, request.getRate()));
+    }
+
+    /**
+     * DTO for exchange rate request.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class FxRateRequest {
+        @NotNull(message = "Rate is required")
+        @Positive(message = "Rate must be greater than zero")
+        @Digits(integer = 11, fraction = 8, message = "Rate must have at most 8 decimal places")
+        private BigDecimal rate;
+
+        public FxRateRequest() {
+        }
+
+        public FxRateRequest(BigDecimal rate) {
+            this.rate = rate;
+        }
+
+        public BigDecimal getRate() {
+            return rate;
+        }
+
+        public void setRate(BigDecimal rate) {
+            this.rate = rate;
+        }
+    }
+}
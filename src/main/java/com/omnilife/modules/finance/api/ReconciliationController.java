@@ -0,0 +1,74 @@
+package com.omnilife.modules.finance.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omnilife.modules.finance.dto.ReconciliationSummary;
+import com.omnilife.modules.finance.exception.ReconciliationInProgressException;
+import com.omnilife.modules.finance.service.ReconciliationService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * REST controller for ledger reconciliation.
+ */
+@RestController
+@RequestMapping("/api/finance")
+public class ReconciliationController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReconciliationService reconciliationService;
+    private final ObjectMapper objectMapper;
+
+    public ReconciliationController(ReconciliationService reconciliationService, ObjectMapper objectMapper) {
+        this.reconciliationService = reconciliationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks every account's stored balance against its journal entries.
+     * Each mismatch is streamed as one JSON line as soon as it is found; the last line carries
+     * the summary of the sweep, or the error that stopped it.
+     *
+     * @return the streamed mismatches
+     * @throws ReconciliationInProgressException if a reconciliation is already running
+     */
+    @PostMapping(value = "/reconciliation", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> reconcile() {
+        if (reconciliationService.isRunning()) {
+            throw new ReconciliationInProgressException();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                ReconciliationSummary summary = reconciliationService.reconcile(mismatch -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(mismatch));
+                        writer.write('\n');
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.write(objectMapper.writeValueAsString(Map.of("summary", summary)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                writer.write(objectMapper.writeValueAsString(Map.of("error", String.valueOf(e.getMessage()))));
+            }
+            writer.write('\n');
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -2,21 +2,47 @@ package com.omnilife.modules.finance.api;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omnilife.modules.finance.domain.JournalEntryType;
 import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountStatistics;
+import com.omnilife.modules.finance.dto.JournalEntryExportRow;
+import com.omnilife.modules.finance.dto.TransferReceipt;
+import com.omnilife.modules.finance.dto.WalletCacheStats;
+import com.omnilife.modules.finance.service.AccountStatisticsService;
+import com.omnilife.modules.finance.service.BalanceSnapshotService;
+import com.omnilife.modules.finance.service.TransferIdempotencyService;
 import com.omnilife.modules.finance.service.WalletService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * REST controller for wallet operations.
@@ -25,10 +51,26 @@ import java.util.Map;
 @RequestMapping("/api/finance")
 public class WalletController {
 
-    private final WalletService walletService;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final String CSV_HEADER = "id,transactionId,type,amount,currency,timestamp,description\n";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
 
-    public WalletController(WalletService walletService) {
+    private final WalletService walletService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final AccountStatisticsService accountStatisticsService;
+    private final TransferIdempotencyService transferIdempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public WalletController(WalletService walletService, BalanceSnapshotService balanceSnapshotService,
+                            AccountStatisticsService accountStatisticsService,
+                            TransferIdempotencyService transferIdempotencyService, ObjectMapper objectMapper) {
         this.walletService = walletService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.accountStatisticsService = accountStatisticsService;
+        this.transferIdempotencyService = transferIdempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -39,15 +81,17 @@ public class WalletController {
      */
     @GetMapping("/wallets/{id}")
     public ResponseEntity<WalletDto> getWallet(@PathVariable Long id) {
-        LedgerAccount account = walletService.getWalletById(id);
-        WalletDto dto = new WalletDto(
-                account.getId(),
-                account.getAccountNumber(),
-                account.getName(),
-                account.getBalance(),
-                account.getCurrency()
-        );
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(walletService.getWalletView(id));
+    }
+
+    /**
+     * Retrieves the hit and miss counts of the wallet cache since startup.
+     *
+     * @return the WalletCacheStats
+     */
+    @GetMapping("/wallets/cache/stats")
+    public ResponseEntity<WalletCacheStats> getWalletCacheStats() {
+        return ResponseEntity.ok(walletService.getWalletCacheStats());
     }
 
     /**
@@ -62,6 +106,57 @@ public class WalletController {
         return ResponseEntity.status(HttpStatus.CREATED).body(account);
     }
 
+    /**
+     * Creates many wallets at once and streams their account numbers as newline-delimited JSON,
+     * one line per wallet in request order, as soon as each chunk of wallets is committed:
+     * {"index": 0, "accountNumber": "2026123456"}.
+     * The first chunk is created before the response status is sent, so a request that fails
+     * right away gets the usual error response. If a later chunk fails, the stream ends with
+     * {"error": "...", "createdCount": n}; the wallets listed before that line remain created.
+     *
+     * @param request the request containing the wallets to create
+     * @return the streamed account numbers
+     */
+    @PostMapping(value = "/wallets/bulk", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> createWalletsBulk(@Valid @RequestBody BulkCreateWalletRequest request) {
+        List<CreateWalletRequest> wallets = request.getWallets();
+        walletService.validateBulkWalletCount(wallets.size());
+        int firstChunkSize = Math.min(walletService.getBulkChunkSize(), wallets.size());
+        List<String> firstChunk = walletService.createWalletChunk(wallets.subList(0, firstChunkSize));
+        List<CreateWalletRequest> remaining = wallets.subList(firstChunkSize, wallets.size());
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            int[] index = {0};
+            Consumer<List<String>> writeChunk = accountNumbers -> {
+                try {
+                    for (String accountNumber : accountNumbers) {
+                        writer.write(objectMapper.writeValueAsString(
+                                Map.of("index", index[0]++, "accountNumber", accountNumber)));
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            try {
+                writeChunk.accept(firstChunk);
+                if (!remaining.isEmpty()) {
+                    walletService.createWalletsBulk(remaining, writeChunk);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                writer.write(objectMapper.writeValueAsString(
+                        Map.of("error", String.valueOf(e.getMessage()), "createdCount", index[0])));
+                writer.write('\n');
+            }
+            writer.flush();
+        };
+        return ResponseEntity.status(HttpStatus.CREATED).contentType(NDJSON).body(body);
+    }
+
     /**
      * Deposits funds into a wallet.
      *
@@ -76,33 +171,228 @@ public class WalletController {
         return ResponseEntity.ok(account);
     }
 
+    /**
+     * Turns a wallet into a hot account whose balance is split into sub-balance slots,
+     * so that concurrent credits to it do not all wait on one row lock.
+     *
+     * @param accountNumber the account number
+     * @param request       the request containing the optional slot count
+     * @return the updated wallet
+     */
+    @PostMapping("/wallets/{accountNumber}/hot")
+    public ResponseEntity<WalletDto> enableHotAccount(@PathVariable String accountNumber,
+                                                      @Valid @RequestBody(required = false) HotAccountRequest request) {
+        LedgerAccount account = walletService.enableHotAccount(accountNumber, request != null ? request.getSlots() : null);
+        WalletDto dto = new WalletDto(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getName(),
+                walletService.getTotalBalance(account),
+                account.getCurrency()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
     /**
      * Transfers funds between two accounts.
      *
-     * @param request the transfer request containing fromUser, toUser, and amount
-     * @return a success message
+     * With an Idempotency-Key header, a repeated request with the same key returns the result of
+     * the first one without transferring again, marked with an Idempotent-Replayed: true header.
+     *
+     * @param idempotencyKey the optional client-chosen key identifying the transfer
+     * @param request        the transfer request containing fromUser, toUser, and amount
+     * @return a success message with the transaction ID
      */
     @PostMapping("/transfer")
-    public ResponseEntity<Map<String, String>> transfer(@Valid @RequestBody TransferRequest request) {
-        walletService.transferFunds(request.getFromUser(), request.getToUser(), request.getAmount());
-        return ResponseEntity.ok(Map.of("message", "Transfer successful"));
+    public ResponseEntity<Map<String, String>> transfer(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody TransferRequest request) {
+        if (idempotencyKey == null) {
+            UUID transactionId = walletService.transferFunds(
+                    request.getFromUser(), request.getToUser(), request.getAmount());
+            return ResponseEntity.ok(Map.of("message", "Transfer successful",
+                    "transactionId", transactionId.toString()));
+        }
+        TransferReceipt receipt = transferIdempotencyService.transfer(
+                idempotencyKey, request.getFromUser(), request.getToUser(), request.getAmount());
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(receipt.replayed()))
+                .body(Map.of("message", "Transfer successful", "transactionId", receipt.transactionId().toString()));
+    }
+
+    /**
+     * Executes a batch of transfers atomically in a single transaction.
+     *
+     * @param request the batch request containing the transfers to execute, in order
+     * @return a success message with the number of executed transfers
+     */
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<Map<String, Object>> transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        int transferCount = walletService.transferFundsBatch(request.getTransfers());
+        return ResponseEntity.ok(Map.of("message", "Batch transfer successful", "transferCount", transferCount));
+    }
+
+    /**
+     * Posts a payment with several legs atomically: all legs are applied in one transaction and
+     * journaled under one transaction ID, or none is.
+     *
+     * @param request the posting request containing the DEBIT and CREDIT legs, which must balance
+     * @return a success message with the transaction ID and the number of legs
+     */
+    @PostMapping("/postings")
+    public ResponseEntity<Map<String, Object>> post(@Valid @RequestBody PostingRequest request) {
+        UUID transactionId = walletService.postTransaction(request.getLegs());
+        return ResponseEntity.ok(Map.of("message", "Posting successful",
+                "transactionId", transactionId.toString(),
+                "legCount", request.getLegs().size()));
     }
 
     /**
-     * Retrieves the transaction history for a specific wallet account with pagination support.
+     * Retrieves the transaction history for a specific wallet account, most recent first, from the
+     * account activity read model; it may lag the latest transfers by a moment. Without a page
+     * parameter, the history is paged with an opaque cursor: pass the next token of a response as
+     * cursor to get the following entries; next is null on the last page.
+     * With a page parameter, the legacy offset-based page is returned.
      *
      * @param id the wallet ID to retrieve transaction history for
-     * @param page the page number (0-indexed, default: 0)
+     * @param cursor the next token of the previous page (absent for the first page)
+     * @param page the legacy page number (0-indexed); selects offset pagination when present
      * @param size the number of items per page (default: 10)
-     * @return a page of TransactionHistoryDto objects representing the account's transaction history
+     * @return a TransactionHistoryPage, or a page of TransactionHistoryDto objects for offset pagination
      */
     @GetMapping("/wallets/{id}/transactions")
-    public ResponseEntity<Page<TransactionHistoryDto>> getTransactionHistory(
+    public ResponseEntity<?> getTransactionHistory(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<TransactionHistoryDto> history = walletService.getAccountHistoryById(id, page, size);
-        return ResponseEntity.ok(history);
+        if (page != null) {
+            Page<TransactionHistoryDto> history = walletService.getAccountHistoryById(id, page, size);
+            return ResponseEntity.ok(history);
+        }
+        return ResponseEntity.ok(walletService.getAccountHistoryPage(id, cursor, size));
+    }
+
+    /**
+     * Retrieves the balance of a wallet at a point in time, as recorded by its journal entries.
+     *
+     * @param id   the wallet ID
+     * @param asOf the point in time as an ISO-8601 local date-time, e.g. 2026-01-31T23:59:59
+     * @return the BalanceAsOfDto
+     */
+    @GetMapping("/wallets/{id}/balance")
+    public ResponseEntity<BalanceAsOfDto> getBalanceAsOf(@PathVariable Long id, @RequestParam String asOf) {
+        LocalDateTime pointInTime;
+        try {
+            pointInTime = LocalDateTime.parse(asOf);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("asOf must be an ISO-8601 local date-time, e.g. 2026-01-31T23:59:59");
+        }
+        LedgerAccount account = walletService.getWalletById(id);
+        BalanceAsOfDto dto = new BalanceAsOfDto(
+                account.getAccountNumber(),
+                pointInTime,
+                balanceSnapshotService.getBalanceAsOf(account, pointInTime),
+                account.getCurrency()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * Retrieves the inflow, outflow and entry counts of a wallet between two days, in total and per
+     * day or month, from its daily rollups.
+     *
+     * @param id          the wallet ID
+     * @param from        the first day as an ISO-8601 date, e.g. 2026-01-01
+     * @param to          the last day as an ISO-8601 date, inclusive
+     * @param granularity day (default) or month
+     * @return the AccountStatistics
+     */
+    @GetMapping("/wallets/{id}/statistics")
+    public ResponseEntity<AccountStatistics> getStatistics(
+            @PathVariable Long id,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = LocalDate.parse(from);
+            toDate = LocalDate.parse(to);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("from and to must be ISO-8601 dates, e.g. 2026-01-31");
+        }
+        AccountStatisticsService.Granularity period;
+        if ("day".equalsIgnoreCase(granularity)) {
+            period = AccountStatisticsService.Granularity.DAY;
+        } else if ("month".equalsIgnoreCase(granularity)) {
+            period = AccountStatisticsService.Granularity.MONTH;
+        } else {
+            throw new IllegalArgumentException("Unsupported granularity: " + granularity);
+        }
+        return ResponseEntity.ok(accountStatisticsService.getStatistics(id, fromDate, toDate, period));
+    }
+
+    /**
+     * Exports the complete transaction history of a wallet, oldest first, streamed as it is read
+     * from the database.
+     * format=ndjson (default) writes one JSON object per line; format=csv writes a header line
+     * followed by one line per entry.
+     *
+     * @param id     the wallet ID to export the history of
+     * @param format ndjson or csv
+     * @return the streamed history
+     */
+    @GetMapping("/wallets/{id}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        LedgerAccount account = walletService.getWalletById(id);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+            }
+            try {
+                walletService.exportAccountHistory(account, row -> {
+                    try {
+                        writer.write(csv ? toCsvLine(row) : objectMapper.writeValueAsString(row) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        String fileName = "wallet-" + account.getAccountNumber() + "-transactions." + (csv ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    private static String toCsvLine(JournalEntryExportRow row) {
+        String transactionId = row.transactionId() != null ? row.transactionId().toString() : "";
+        return row.id() + "," + transactionId + "," + row.type() + "," + row.amount().toPlainString() + ","
+                + row.currency() + "," + row.timestamp() + "," + csvField(row.description()) + "\n";
+    }
+
+    /**
+     * Quotes a free-text CSV field, doubling embedded quotes (RFC 4180).
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
 
     /**
@@ -140,6 +430,30 @@ public class WalletController {
         }
     }
 
+    /**
+     * DTO for bulk wallet creation request.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BulkCreateWalletRequest {
+        @NotEmpty(message = "At least one wallet is required")
+        private List<@Valid CreateWalletRequest> wallets;
+
+        public BulkCreateWalletRequest() {
+        }
+
+        public BulkCreateWalletRequest(List<CreateWalletRequest> wallets) {
+            this.wallets = wallets;
+        }
+
+        public List<CreateWalletRequest> getWallets() {
+            return wallets;
+        }
+
+        public void setWallets(List<CreateWalletRequest> wallets) {
+            this.wallets = wallets;
+        }
+    }
+
     /**
      * DTO for deposit request.
      */
@@ -147,6 +461,7 @@ public class WalletController {
     public static class DepositRequest {
         @NotNull(message = "Amount is required")
         @Positive(message = "Amount must be positive")
+        @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
         private BigDecimal amount;
 
         public DepositRequest() {
@@ -178,6 +493,7 @@ public class WalletController {
         
         @NotNull
         @Positive(message = "Transfer amount must be greater than zero")
+        @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
         private BigDecimal amount;
 
         public TransferRequest() {
@@ -214,6 +530,141 @@ public class WalletController {
         }
     }
 
+    /**
+     * DTO for hot account request.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class HotAccountRequest {
+        @Positive(message = "Slot count must be positive")
+        private Integer slots;
+
+        public HotAccountRequest() {
+        }
+
+        public HotAccountRequest(Integer slots) {
+            this.slots = slots;
+        }
+
+        public Integer getSlots() {
+            return slots;
+        }
+
+        public void setSlots(Integer slots) {
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * DTO for batch transfer request.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BatchTransferRequest {
+        @NotEmpty(message = "At least one transfer is required")
+        private List<@Valid TransferRequest> transfers;
+
+        public BatchTransferRequest() {
+        }
+
+        public BatchTransferRequest(List<TransferRequest> transfers) {
+            this.transfers = transfers;
+        }
+
+        public List<TransferRequest> getTransfers() {
+            return transfers;
+        }
+
+        public void setTransfers(List<TransferRequest> transfers) {
+            this.transfers = transfers;
+        }
+    }
+
+    /**
+     * DTO for one leg of a multi-leg posting.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PostingLegRequest {
+        @NotBlank(message = "Account ID is required")
+        private String accountNumber;
+
+        @NotNull(message = "Leg type must be DEBIT or CREDIT")
+        private JournalEntryType type;
+
+        @NotNull
+        @Positive(message = "Posting amount must be greater than zero")
+        @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+        private BigDecimal amount;
+
+        @Size(max = 500, message = "Description must be at most 500 characters")
+        private String description;
+
+        public PostingLegRequest() {
+        }
+
+        public PostingLegRequest(String accountNumber, JournalEntryType type, BigDecimal amount, String description) {
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.description = description;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public void setAccountNumber(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        public JournalEntryType getType() {
+            return type;
+        }
+
+        public void setType(JournalEntryType type) {
+            this.type = type;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * DTO for multi-leg posting request.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PostingRequest {
+        @NotEmpty(message = "At least two legs are required")
+        @Size(min = 2, message = "At least two legs are required")
+        private List<@Valid PostingLegRequest> legs;
+
+        public PostingRequest() {
+        }
+
+        public PostingRequest(List<PostingLegRequest> legs) {
+            this.legs = legs;
+        }
+
+        public List<PostingLegRequest> getLegs() {
+            return legs;
+        }
+
+        public void setLegs(List<PostingLegRequest> legs) {
+            this.legs = legs;
+        }
+    }
+
     /**
      * DTO for wallet response.
      */
@@ -285,31 +736,48 @@ public class WalletController {
      */
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class TransactionHistoryDto {
-        private String transactionId;
+        private UUID transactionId;
         private JournalEntryType type;
         private BigDecimal amount;
         private String currency;
         private LocalDateTime timestamp;
         private String description;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private BigDecimal fxRate;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String counterpartyAccountNumber;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private BigDecimal runningBalance;
 
         public TransactionHistoryDto() {
         }
 
-        public TransactionHistoryDto(String transactionId, JournalEntryType type, BigDecimal amount,
-                                     String currency, LocalDateTime timestamp, String description) {
+        public TransactionHistoryDto(UUID transactionId, JournalEntryType type, BigDecimal amount,
+                                     String currency, LocalDateTime timestamp, String description,
+                                     BigDecimal fxRate) {
+            this(transactionId, type, amount, currency, timestamp, description, fxRate, null, null);
+        }
+
+        public TransactionHistoryDto(UUID transactionId, JournalEntryType type, BigDecimal amount,
+                                     String currency, LocalDateTime timestamp, String description,
+                                     BigDecimal fxRate, String counterpartyAccountNumber,
+                                     BigDecimal runningBalance) {
             this.transactionId = transactionId;
             this.type = type;
             this.amount = amount;
             this.currency = currency;
             this.timestamp = timestamp;
             this.description = description;
+            this.fxRate = fxRate;
+            this.counterpartyAccountNumber = counterpartyAccountNumber;
+            this.runningBalance = runningBalance;
         }
 
-        public String getTransactionId() {
+        public UUID getTransactionId() {
             return transactionId;
         }
 
-        public void setTransactionId(String transactionId) {
+        public void setTransactionId(UUID transactionId) {
             this.transactionId = transactionId;
         }
 
@@ -352,6 +820,116 @@ public class WalletController {
         public void setDescription(String description) {
             this.description = description;
         }
+
+        public BigDecimal getFxRate() {
+            return fxRate;
+        }
+
+        public void setFxRate(BigDecimal fxRate) {
+            this.fxRate = fxRate;
+        }
+
+        public String getCounterpartyAccountNumber() {
+            return counterpartyAccountNumber;
+        }
+
+        public void setCounterpartyAccountNumber(String counterpartyAccountNumber) {
+            this.counterpartyAccountNumber = counterpartyAccountNumber;
+        }
+
+        public BigDecimal getRunningBalance() {
+            return runningBalance;
+        }
+
+        public void setRunningBalance(BigDecimal runningBalance) {
+            this.runningBalance = runningBalance;
+        }
     }
-}
 
+    /**
+     * DTO for a cursor-paginated page of transaction history.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TransactionHistoryPage {
+        private List<TransactionHistoryDto> content;
+        private String next;
+
+        public TransactionHistoryPage() {
+        }
+
+        public TransactionHistoryPage(List<TransactionHistoryDto> content, String next) {
+            this.content = content;
+            this.next = next;
+        }
+
+        public List<TransactionHistoryDto> getContent() {
+            return content;
+        }
+
+        public void setContent(List<TransactionHistoryDto> content) {
+            this.content = content;
+        }
+
+        public String getNext() {
+            return next;
+        }
+
+        public void setNext(String next) {
+            this.next = next;
+        }
+    }
+
+    /**
+     * DTO for the balance of a wallet at a point in time.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BalanceAsOfDto {
+        private String accountNumber;
+        private LocalDateTime asOf;
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        private BigDecimal balance;
+        private String currency;
+
+        public BalanceAsOfDto() {
+        }
+
+        public BalanceAsOfDto(String accountNumber, LocalDateTime asOf, BigDecimal balance, String currency) {
+            this.accountNumber = accountNumber;
+            this.asOf = asOf;
+            this.balance = balance;
+            this.currency = currency;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public void setAccountNumber(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        public LocalDateTime getAsOf() {
+            return asOf;
+        }
+
+        public void setAsOf(LocalDateTime asOf) {
+            this.asOf = asOf;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public void setCurrency(String currency) {
+            this.currency = currency;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.omnilife.modules.finance.domain;
+
+import com.omnilife.common.persistence.BlockSequenceId;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity of the account activity read model: one row per journal entry, denormalized for
+ * history reads, with the currency of the account, the counterparty of a transfer and the
+ * balance of the account after the entry.
+ *
+ * Rows are added asynchronously by AccountActivityProjector once the journal entries have
+ * committed. The sequence numbers the rows of an account in journal (timestamp, id) order, which
+ * defines the running balance. An entry projected after a later one is inserted at its place, and
+ * the sequence numbers and running balances of the rows after it are moved; a history read running
+ * at the same time may then see a row twice across two pages. History pages are range scans of
+ * uk_account_activity_account_seq and never touch the journal or the account row.
+ */
+@Entity
+@Table(name = "account_activity", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_activity_account_seq", columnNames = {"account_id", "seq"}),
+    @UniqueConstraint(name = "uk_account_activity_journal_entry", columnNames = {"journal_entry_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountActivity {
+
+    @Id
+    @BlockSequenceId(table = "account_activity")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "seq", nullable = false)
+    private long sequence;
+
+    /**
+     * The projected journal entry; unique, so that an event delivered twice is projected once.
+     */
+    @Column(name = "journal_entry_id", nullable = false, updatable = false)
+    private Long journalEntryId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "txn_id", length = 16, updatable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 10, updatable = false)
+    private JournalEntryType type;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", nullable = false, length = 3, updatable = false)
+    private String currency;
+
+    /**
+     * The other account of a transfer; null for deposits and postings.
+     */
+    @Column(name = "counterparty_account_number", length = 10, updatable = false)
+    private String counterpartyAccountNumber;
+
+    @Column(name = "fx_rate", updatable = false, precision = 19, scale = 8)
+    private BigDecimal fxRate;
+
+    @Column(name = "running_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal runningBalance;
+
+    @Column(name = "description", length = 500, updatable = false)
+    private String description;
+
+    @Column(name = "timestamp", nullable = false, updatable = false)
+    private LocalDateTime timestamp;
+}
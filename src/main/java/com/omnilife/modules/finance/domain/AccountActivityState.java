@@ -0,0 +1,34 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA Entity holding, per account, the last sequence number and the running balance of its
+ * account activity rows. The row is locked while activity is added to the account, so the
+ * rows of an account keep consecutive sequence numbers and consistent running balances.
+ *
+ * An account without this row has not been seeded yet: its activity is not projected and its
+ * history is read from the journal until AccountActivityBackfill has seeded it.
+ */
+@Entity
+@Table(name = "account_activity_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountActivityState {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+}
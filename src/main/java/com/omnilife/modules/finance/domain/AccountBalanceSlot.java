@@ -0,0 +1,39 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA Entity representing one sub-balance slot of a hot ledger account.
+ * A hot account spreads part of its balance over several slot rows, so that concurrent credits
+ * lock different rows instead of all waiting on the single account row.
+ * The total balance of a hot account is its own balance plus the sum of its slot balances.
+ */
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_slot", columnNames = {"account_id", "slot_index"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private LedgerAccount account;
+
+    @Column(name = "slot_index", nullable = false, updatable = false)
+    private int slotIndex;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+}
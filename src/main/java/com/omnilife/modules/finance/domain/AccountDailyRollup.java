@@ -0,0 +1,50 @@
+package com.omnilife.modules.finance.domain;
+
+import com.omnilife.common.persistence.BlockSequenceId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * JPA Entity aggregating the journal entries of an account on one day: the sum and count of its
+ * CREDIT entries (inflow) and of its DEBIT entries (outflow), in the currency of the account.
+ *
+ * Rows are maintained by AccountActivityProjector in the transaction that appends the matching
+ * account activity, under the same account lock, so they lag the journal exactly as the activity
+ * read model does. Range statistics read at most one row per account and day.
+ */
+@Entity
+@Table(name = "account_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_daily_rollup_account_date", columnNames = {"account_id", "activity_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDailyRollup {
+
+    @Id
+    @BlockSequenceId(table = "account_daily_rollups")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "activity_date", nullable = false, updatable = false)
+    private LocalDate activityDate;
+
+    @Column(name = "inflow", nullable = false, precision = 19, scale = 2)
+    private BigDecimal inflow;
+
+    @Column(name = "outflow", nullable = false, precision = 19, scale = 2)
+    private BigDecimal outflow;
+
+    @Column(name = "credit_count", nullable = false)
+    private long creditCount;
+
+    @Column(name = "debit_count", nullable = false)
+    private long debitCount;
+}
@@ -0,0 +1,59 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity representing a journal entry moved out of journal_entries by JournalArchiver.
+ * Archived entries are never changed; they keep the ID, transaction ID and timestamp they had in
+ * the journal, and are only read by history, export, point-in-time balance and reconciliation
+ * queries, which combine them with the entries still in the journal.
+ */
+@Entity
+@Table(name = "journal_entries_archive", indexes = {
+    @Index(name = "idx_journal_archive_account_ts_id", columnList = "account_id, timestamp, id"),
+    @Index(name = "idx_journal_archive_timestamp", columnList = "timestamp")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedJournalEntry {
+
+    /**
+     * The ID the entry had in journal_entries.
+     */
+    @Id
+    private Long id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "txn_id", length = 16)
+    private UUID transactionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private LedgerAccount account;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 10)
+    private JournalEntryType type;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "fx_rate", precision = 19, scale = 8)
+    private BigDecimal fxRate;
+
+    @Column(name = "timestamp", nullable = false, updatable = false)
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,72 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity recording a transfer submitted for asynchronous execution.
+ * The ID is a time-ordered UUID and becomes the transaction ID of the transfer's journal entries,
+ * which links the submission to the transfer it produced. A PENDING transfer whose claim has
+ * expired is resolved by looking for those journal entries.
+ */
+@Entity
+@Table(name = "async_transfers", indexes = {
+    @Index(name = "idx_async_transfer_status_claimed", columnList = "status, claimed_at"),
+    @Index(name = "idx_async_transfer_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsyncTransfer {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", length = 16)
+    private UUID id;
+
+    @Column(name = "from_account_number", nullable = false, length = 10)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", nullable = false, length = 10)
+    private String toAccountNumber;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private AsyncTransferStatus status;
+
+    /**
+     * Why the transfer FAILED; null otherwise.
+     */
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    /**
+     * The number of times the transfer was claimed for execution; each claim, including a
+     * takeover by the recovery job, increments it, which invalidates the previous claim.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When the transfer was last claimed; a PENDING claim older than the lease may be taken over.
+     */
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
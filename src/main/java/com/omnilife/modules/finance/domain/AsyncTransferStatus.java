@@ -0,0 +1,13 @@
+package com.omnilife.modules.finance.domain;
+
+/**
+ * Status enumeration for AsyncTransfer entities.
+ * PENDING: The transfer was accepted and is queued, running, or waiting to be recovered
+ * COMPLETED: The transfer was executed
+ * FAILED: The transfer was rejected, e.g. for insufficient funds, and did not move any money
+ */
+public enum AsyncTransferStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,41 @@
+package com.omnilife.modules.finance.domain;
+
+import com.omnilife.common.persistence.BlockSequenceId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity recording the journal balance of an account at a point in time.
+ * The balance is the sum of all CREDIT minus all DEBIT journal entries of the account with a
+ * timestamp up to and including asOf. Snapshots are only written for accounts with journal
+ * activity since their previous snapshot, so the latest snapshot at or before a given time,
+ * plus the entries after it, always gives the balance at that time.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_balance_snapshot_account_as_of", columnNames = {"account_id", "as_of"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshot {
+
+    @Id
+    @BlockSequenceId(table = "balance_snapshots", blockSize = 100)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private LedgerAccount account;
+
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "balance", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+}
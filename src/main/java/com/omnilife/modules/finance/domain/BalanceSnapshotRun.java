@@ -0,0 +1,31 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity recording a completed run of the balance snapshot job.
+ * A run is only recorded once every account with activity up to its asOf has a snapshot, so the
+ * latest run is the point from which the next run has to look for new journal entries.
+ */
+@Entity
+@Table(name = "balance_snapshot_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshotRun {
+
+    @Id
+    @Column(name = "as_of")
+    private LocalDateTime asOf;
+
+    @Column(name = "snapshot_count", nullable = false)
+    private long snapshotCount;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package com.omnilife.modules.finance.domain;
+
+/**
+ * Status enumeration for IdempotencyRecord entities.
+ * PENDING: The request holding the key is being executed, or was interrupted
+ * COMPLETED: The request was executed and its result can be replayed
+ */
+public enum IdempotencyStatus {
+    PENDING,
+    COMPLETED
+}
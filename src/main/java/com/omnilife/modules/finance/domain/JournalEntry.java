@@ -1,12 +1,16 @@
 package com.omnilife.modules.finance.domain;
 
+import com.omnilife.common.persistence.BlockSequenceId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * JPA Entity representing a journal entry in the finance module.
@@ -16,7 +20,11 @@ import java.time.LocalDateTime;
  * in the service layer when creating or updating journal entries.
  */
 @Entity
-@Table(name = "journal_entries")
+@Table(name = "journal_entries", indexes = {
+    @Index(name = "idx_journal_account_ts_id", columnList = "account_id, timestamp, id"),
+    @Index(name = "idx_journal_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_journal_txn_id", columnList = "txn_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,12 +32,22 @@ import java.time.LocalDateTime;
 @Builder
 public class JournalEntry {
 
+    /**
+     * Block-allocated IDs instead of IDENTITY, so that Hibernate can group journal inserts
+     * into JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId(table = "journal_entries")
     private Long id;
 
-    @Column(name = "transaction_id", nullable = false, length = 100)
-    private String transactionId;
+    /**
+     * Time-ordered UUID stored as BINARY(16), so that the transaction ID index stays compact and
+     * is appended to rather than written at random. Replaces the former VARCHAR transaction_id
+     * column; it is null only for older entries that JournalTransactionIdBackfill has not reached yet.
+     */
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "txn_id", length = 16)
+    private UUID transactionId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
@@ -49,6 +67,13 @@ public class JournalEntry {
     @Column(name = "description", length = 500)
     private String description;
 
+    /**
+     * The exchange rate applied to a cross-currency transfer, null otherwise. Both entries of the
+     * transfer carry it, each with the amount in the currency of its own account.
+     */
+    @Column(name = "fx_rate", precision = 19, scale = 8)
+    private BigDecimal fxRate;
+
     @Column(name = "timestamp", nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
@@ -1,5 +1,6 @@
 package com.omnilife.modules.finance.domain;
 
+import com.omnilife.common.persistence.BlockSequenceId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -20,8 +21,12 @@ import java.time.LocalDateTime;
 @Builder
 public class LedgerAccount {
 
+    /**
+     * Block-allocated IDs instead of IDENTITY, so that bulk wallet creation can insert accounts
+     * in JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequenceId(table = "ledger_accounts", blockSize = 100)
     private Long id;
 
     @Column(name = "account_number", unique = true, nullable = false, updatable = false, length = 10)
@@ -45,6 +50,32 @@ public class LedgerAccount {
     @Column(name = "created_date", nullable = false, updatable = false)
     private LocalDateTime createdDate;
 
+    /**
+     * Number of sub-balance slots of a hot account, 0 for a regular account.
+     * For hot accounts the balance column holds only the unsharded part of the balance;
+     * the total is this balance plus the sum of the AccountBalanceSlot balances.
+     */
+    @Column(name = "balance_slots", nullable = false)
+    @Builder.Default
+    private int balanceSlots = 0;
+
+    /**
+     * Optimistic locking version, checked and incremented by every update of the account row.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @Builder.Default
+    private long version = 0L;
+
+    /**
+     * Returns whether this account spreads its balance over sub-balance slots.
+     *
+     * @return true if the account is a hot account
+     */
+    public boolean isHotAccount() {
+        return balanceSlots > 0;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdDate == null) {
@@ -0,0 +1,27 @@
+package com.omnilife.modules.finance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * JPA Entity recording, per sequencer partition, the last ledger log sequence number whose
+ * effects have been written to the database by the sequenced transfer engine.
+ * It is updated in the same transaction as the journal entries and balances it covers, so on
+ * restart every log record above the checkpoint still has to be applied.
+ */
+@Entity
+@Table(name = "ledger_sequencer_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerSequencerCheckpoint {
+
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -0,0 +1,15 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the account activity read model of one account: the number of projected
+ * entries and balance held by its AccountActivityState, and the running balance of its last row.
+ */
+public record AccountActivityBalance(
+        Long accountId,
+        Long lastSequence,
+        BigDecimal stateBalance,
+        BigDecimal runningBalance
+) {
+}
@@ -0,0 +1,13 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the net journal change of one account over a time window:
+ * the sum of its CREDIT minus the sum of its DEBIT entries.
+ */
+public record AccountBalanceDelta(
+        Long accountId,
+        BigDecimal delta
+) {
+}
@@ -0,0 +1,10 @@
+package com.omnilife.modules.finance.dto;
+
+/**
+ * DTO representing the currency of an account.
+ */
+public record AccountCurrency(
+        String accountNumber,
+        String currency
+) {
+}
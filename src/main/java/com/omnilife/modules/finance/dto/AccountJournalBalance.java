@@ -0,0 +1,14 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the journal balance of one account since it was opened, all CREDIT minus all
+ * DEBIT entries, with the number of entries.
+ */
+public record AccountJournalBalance(
+        Long accountId,
+        BigDecimal balance,
+        Long entries
+) {
+}
@@ -0,0 +1,22 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing an account whose stored balance, or whose account activity balance, differs
+ * from the net of its journal entries.
+ *
+ * @param difference      the stored balance minus the journal balance
+ * @param activityBalance the last running balance of the account activity, or its state balance
+ *                        where the two differ; null if the projection of the account has not
+ *                        caught up with its journal
+ */
+public record AccountMismatch(
+        Long accountId,
+        String accountNumber,
+        BigDecimal storedBalance,
+        BigDecimal journalBalance,
+        BigDecimal difference,
+        BigDecimal activityBalance
+) {
+}
@@ -0,0 +1,26 @@
+package com.omnilife.modules.finance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO representing the activity statistics of an account over a date range.
+ *
+ * @param accountNumber the account number
+ * @param currency      the currency of all amounts
+ * @param from          the first day of the range
+ * @param to            the last day of the range, inclusive
+ * @param granularity   day or month
+ * @param totals        the statistics of the whole range
+ * @param periods       the statistics per day or month, oldest first; periods without entries are omitted
+ */
+public record AccountStatistics(
+        String accountNumber,
+        String currency,
+        LocalDate from,
+        LocalDate to,
+        String granularity,
+        PeriodStatistics totals,
+        List<PeriodStatistics> periods
+) {
+}
@@ -0,0 +1,13 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the position of an account activity row: its sequence number and the running
+ * balance of the account after it.
+ */
+public record ActivityPosition(
+        Long sequence,
+        BigDecimal runningBalance
+) {
+}
@@ -0,0 +1,31 @@
+package com.omnilife.modules.finance.dto;
+
+import com.omnilife.modules.finance.domain.AsyncTransferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO representing the state of an asynchronously executed transfer.
+ *
+ * @param transferId    the transfer ID, also the transaction ID of its journal entries
+ * @param fromUser      the account number transferred from
+ * @param toUser        the account number transferred to
+ * @param amount        the amount
+ * @param status        PENDING until the transfer has run, then COMPLETED or FAILED
+ * @param failureReason why the transfer failed, null unless FAILED
+ * @param createdAt     when the transfer was accepted
+ * @param completedAt   when the transfer completed or failed, null while PENDING
+ */
+public record AsyncTransferView(
+        UUID transferId,
+        String fromUser,
+        String toUser,
+        BigDecimal amount,
+        AsyncTransferStatus status,
+        String failureReason,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO representing the inflow and outflow of one account on one day, selected either from the
+ * daily rollups or, for accounts whose rollups are not seeded yet, aggregated from the journal.
+ */
+public record DailyRollupRow(
+        LocalDate date,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        long creditCount,
+        long debitCount
+) {
+}
@@ -0,0 +1,26 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the exchange rates used by cross-currency transfers.
+ *
+ * @param rates    the rates keyed by "BASE/QUOTE", e.g. "USD/EUR"; one unit of BASE buys rate units of QUOTE
+ * @param loadedAt when the snapshot was loaded from the fx_rates table, null before the first load
+ */
+public record FxRateTable(
+        Map<String, BigDecimal> rates,
+        LocalDateTime loadedAt
+) {
+
+    /**
+     * Returns the rate from one currency to another.
+     *
+     * @return the rate, or null if the snapshot has none for the pair
+     */
+    public BigDecimal rate(String fromCurrency, String toCurrency) {
+        return rates.get(fromCurrency + "/" + toCurrency);
+    }
+}
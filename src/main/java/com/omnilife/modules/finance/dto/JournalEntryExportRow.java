@@ -0,0 +1,22 @@
+package com.omnilife.modules.finance.dto;
+
+import com.omnilife.modules.finance.domain.JournalEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO representing one journal entry in an account history export.
+ * Selected directly by the export query, so no JournalEntry entities are loaded.
+ */
+public record JournalEntryExportRow(
+        Long id,
+        UUID transactionId,
+        JournalEntryType type,
+        BigDecimal amount,
+        String currency,
+        LocalDateTime timestamp,
+        String description
+) {
+}
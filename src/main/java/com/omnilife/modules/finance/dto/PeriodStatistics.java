@@ -0,0 +1,25 @@
+package com.omnilife.modules.finance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the inflow and outflow of an account over one period of a statistics response.
+ *
+ * @param period      the day (e.g. 2026-01-31) or month (e.g. 2026-01); null for the totals
+ * @param inflow      the sum of CREDIT entries
+ * @param outflow     the sum of DEBIT entries
+ * @param net         inflow minus outflow
+ * @param creditCount the number of CREDIT entries
+ * @param debitCount  the number of DEBIT entries
+ */
+public record PeriodStatistics(
+        @JsonInclude(JsonInclude.Include.NON_NULL) String period,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        long creditCount,
+        long debitCount
+) {
+}
@@ -0,0 +1,11 @@
+package com.omnilife.modules.finance.dto;
+
+/**
+ * DTO representing the outcome of a ledger reconciliation sweep.
+ */
+public record ReconciliationSummary(
+        long accountsChecked,
+        long mismatches,
+        long durationMillis
+) {
+}
@@ -0,0 +1,14 @@
+package com.omnilife.modules.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing the stored total balance of an account: the balance column plus the sum of
+ * its hot account slots, if any.
+ */
+public record StoredAccountBalance(
+        Long accountId,
+        String accountNumber,
+        BigDecimal balance
+) {
+}
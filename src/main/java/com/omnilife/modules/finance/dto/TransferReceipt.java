@@ -0,0 +1,15 @@
+package com.omnilife.modules.finance.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO representing the result of an idempotent transfer request.
+ *
+ * @param transactionId the transaction ID of the transfer's journal entries
+ * @param replayed      true if the transfer was executed by an earlier request with the same key
+ */
+public record TransferReceipt(
+        UUID transactionId,
+        boolean replayed
+) {
+}
@@ -0,0 +1,16 @@
+package com.omnilife.modules.finance.dto;
+
+/**
+ * DTO representing the hit and miss counts of the wallet cache since startup.
+ *
+ * @param hitRate hits divided by lookups, 0 before the first lookup
+ */
+public record WalletCacheStats(
+        boolean enabled,
+        long size,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
@@ -0,0 +1,26 @@
+package com.omnilife.modules.finance.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event published when a deposit has been journaled, with the same delivery guarantees as
+ * TransferCompleted.
+ *
+ * @param transactionId the transaction ID of the deposit's journal entry
+ * @param accountId     the ID of the account credited
+ * @param accountNumber the account number credited
+ * @param amount        the amount credited
+ * @param currency      the currency of the account
+ * @param occurredAt    the timestamp of the journal entry
+ */
+public record DepositCompleted(
+        UUID transactionId,
+        Long accountId,
+        String accountNumber,
+        BigDecimal amount,
+        String currency,
+        LocalDateTime occurredAt
+) {
+}
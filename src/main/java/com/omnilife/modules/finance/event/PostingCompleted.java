@@ -0,0 +1,41 @@
+package com.omnilife.modules.finance.event;
+
+import com.omnilife.modules.finance.domain.JournalEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain event published when a multi-leg posting has been journaled, with the same delivery
+ * guarantees as TransferCompleted.
+ *
+ * @param transactionId the transaction ID shared by the posting's journal entries
+ * @param currency      the currency of all accounts of the posting
+ * @param legs          the legs of the posting, in request order
+ * @param occurredAt    the timestamp of the journal entries
+ */
+public record PostingCompleted(
+        UUID transactionId,
+        String currency,
+        List<Leg> legs,
+        LocalDateTime occurredAt
+) {
+
+    /**
+     * One leg of a posting.
+     *
+     * @param accountId     the ID of the account debited or credited
+     * @param accountNumber the account number debited or credited
+     * @param type          DEBIT or CREDIT
+     * @param amount        the amount of the leg
+     */
+    public record Leg(
+            Long accountId,
+            String accountNumber,
+            JournalEntryType type,
+            BigDecimal amount
+    ) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.omnilife.modules.finance.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event published when a transfer has been journaled. It is published within the
+ * transaction that writes the journal entries and recorded in the event publication registry, so
+ * listeners run once it has committed, and again after a crash until they have completed. Listeners
+ * may therefore see an event more than once and must be idempotent, e.g. keyed by transactionId.
+ *
+ * @param transactionId     the transaction ID of the transfer's journal entries
+ * @param fromAccountId     the ID of the account debited
+ * @param fromAccountNumber the account number debited
+ * @param toAccountId       the ID of the account credited
+ * @param toAccountNumber   the account number credited
+ * @param amount            the amount debited, in the currency of the from account
+ * @param currency          the currency of the from account
+ * @param creditedAmount    the amount credited, in the currency of the to account
+ * @param creditedCurrency  the currency of the to account
+ * @param fxRate            the exchange rate applied, null if both accounts have the same currency
+ * @param occurredAt        the timestamp of the journal entries
+ */
+public record TransferCompleted(
+        UUID transactionId,
+        Long fromAccountId,
+        String fromAccountNumber,
+        Long toAccountId,
+        String toAccountNumber,
+        BigDecimal amount,
+        String currency,
+        BigDecimal creditedAmount,
+        String creditedCurrency,
+        BigDecimal fxRate,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,38 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when every account number of the configured range has been allocated.
+ */
+public class AccountNumberSpaceExhaustedException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "No account numbers left to allocate";
+
+    /**
+     * Constructs a new AccountNumberSpaceExhaustedException with the default message.
+     */
+    public AccountNumberSpaceExhaustedException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new AccountNumberSpaceExhaustedException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public AccountNumberSpaceExhaustedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new AccountNumberSpaceExhaustedException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public AccountNumberSpaceExhaustedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
+
+
+
@@ -0,0 +1,35 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when no exchange rate is configured between the currencies of a transfer.
+ */
+public class FxRateNotFoundException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "No exchange rate is configured for the currency pair";
+
+    /**
+     * Constructs a new FxRateNotFoundException with the default message.
+     */
+    public FxRateNotFoundException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new FxRateNotFoundException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public FxRateNotFoundException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new FxRateNotFoundException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public FxRateNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when a request reuses an Idempotency-Key whose first request is still being executed.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "A request with this idempotency key is still in progress";
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with the default message.
+     */
+    public IdempotencyKeyInProgressException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public IdempotencyKeyInProgressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
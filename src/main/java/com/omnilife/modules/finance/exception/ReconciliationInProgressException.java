@@ -0,0 +1,35 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when a ledger reconciliation is requested while another one is still running.
+ */
+public class ReconciliationInProgressException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "A ledger reconciliation is already running";
+
+    /**
+     * Constructs a new ReconciliationInProgressException with the default message.
+     */
+    public ReconciliationInProgressException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new ReconciliationInProgressException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ReconciliationInProgressException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public ReconciliationInProgressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
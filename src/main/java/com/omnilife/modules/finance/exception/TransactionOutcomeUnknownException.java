@@ -0,0 +1,46 @@
+package com.omnilife.modules.finance.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a ledger transaction was submitted but did not complete in time, so it may
+ * or may not take effect. Carries the transaction ID, by which the transaction shows up in the
+ * account history once it has taken effect.
+ */
+public class TransactionOutcomeUnknownException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "The transaction did not complete in time and may still take effect";
+
+    private final UUID transactionId;
+
+    /**
+     * Constructs a new TransactionOutcomeUnknownException with the default message.
+     *
+     * @param transactionId the ID of the submitted transaction
+     */
+    public TransactionOutcomeUnknownException(UUID transactionId) {
+        super(DEFAULT_MESSAGE);
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Constructs a new TransactionOutcomeUnknownException with the specified message and cause.
+     *
+     * @param transactionId the ID of the submitted transaction
+     * @param message       the detail message
+     * @param cause         the cause of the exception
+     */
+    public TransactionOutcomeUnknownException(UUID transactionId, String message, Throwable cause) {
+        super(message, cause);
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Returns the ID of the submitted transaction.
+     *
+     * @return the transaction ID
+     */
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+}
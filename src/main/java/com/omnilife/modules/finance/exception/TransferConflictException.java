@@ -0,0 +1,36 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when a transfer keeps conflicting with concurrent updates of the same accounts
+ * and gives up after the configured number of attempts.
+ */
+public class TransferConflictException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Transfer conflicted with concurrent updates";
+
+    /**
+     * Constructs a new TransferConflictException with the default message.
+     */
+    public TransferConflictException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new TransferConflictException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public TransferConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new TransferConflictException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public TransferConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
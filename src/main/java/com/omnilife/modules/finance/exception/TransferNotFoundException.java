@@ -0,0 +1,35 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when an asynchronous transfer is not found.
+ */
+public class TransferNotFoundException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Transfer not found";
+
+    /**
+     * Constructs a new TransferNotFoundException with the default message.
+     */
+    public TransferNotFoundException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new TransferNotFoundException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new TransferNotFoundException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public TransferNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package com.omnilife.modules.finance.exception;
+
+/**
+ * Exception thrown when an asynchronous transfer is submitted while the transfer queue is full.
+ */
+public class TransferQueueFullException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Too many transfers are queued; retry later";
+
+    /**
+     * Constructs a new TransferQueueFullException with the default message.
+     */
+    public TransferQueueFullException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new TransferQueueFullException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new TransferQueueFullException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public TransferQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
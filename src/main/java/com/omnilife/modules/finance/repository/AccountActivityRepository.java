@@ -0,0 +1,127 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.AccountActivity;
+import com.omnilife.modules.finance.dto.AccountActivityBalance;
+import com.omnilife.modules.finance.dto.ActivityPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for AccountActivity entity operations.
+ * History queries are served by the uk_account_activity_account_seq index.
+ */
+@Repository
+public interface AccountActivityRepository extends JpaRepository<AccountActivity, Long> {
+
+    /**
+     * Finds the latest activity of an account, newest first.
+     *
+     * @param accountId the account ID
+     * @param limit     the maximum number of rows
+     * @return the activity rows, sorted by sequence in descending order
+     */
+    List<AccountActivity> findByAccountIdOrderBySequenceDesc(Long accountId, Limit limit);
+
+    /**
+     * Finds the activity of an account below the given sequence number, newest first.
+     *
+     * @param accountId the account ID
+     * @param sequence  the sequence number of the last row of the previous page
+     * @param limit     the maximum number of rows
+     * @return the activity rows, sorted by sequence in descending order
+     */
+    List<AccountActivity> findByAccountIdAndSequenceLessThanOrderBySequenceDesc(Long accountId, long sequence,
+                                                                                Limit limit);
+
+    /**
+     * Finds a page of the activity of an account, newest first, with the total count.
+     *
+     * @param accountId the account ID
+     * @param pageable  the page
+     * @return the page of activity rows, sorted by sequence in descending order
+     */
+    Page<AccountActivity> findByAccountIdOrderBySequenceDesc(Long accountId, Pageable pageable);
+
+    /**
+     * Returns which of the given journal entries have been projected already.
+     * Served by the uk_account_activity_journal_entry index.
+     *
+     * @param journalEntryIds the journal entry IDs
+     * @return the IDs of the journal entries that have an activity row
+     */
+    @Query("SELECT a.journalEntryId FROM AccountActivity a WHERE a.journalEntryId IN :journalEntryIds")
+    List<Long> findProjectedJournalEntryIds(@Param("journalEntryIds") Collection<Long> journalEntryIds);
+
+    /**
+     * Finds the position of the last activity row of an account whose journal entry comes before
+     * (timestamp, journalEntryId). Rows are kept in that order, so the scan of
+     * uk_account_activity_account_seq usually stops at the newest row.
+     *
+     * @param accountId      the account ID
+     * @param timestamp      the timestamp of the entry to be projected
+     * @param journalEntryId the ID of the entry to be projected
+     * @param limit          1
+     * @return the position of the preceding row, if any
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.ActivityPosition(a.sequence, a.runningBalance) "
+            + "FROM AccountActivity a WHERE a.accountId = :accountId AND (a.timestamp < :timestamp "
+            + "OR (a.timestamp = :timestamp AND a.journalEntryId < :journalEntryId)) ORDER BY a.sequence DESC")
+    List<ActivityPosition> findPositionBefore(@Param("accountId") Long accountId,
+                                              @Param("timestamp") LocalDateTime timestamp,
+                                              @Param("journalEntryId") Long journalEntryId,
+                                              Limit limit);
+
+    /**
+     * Moves the activity rows of an account from the given sequence number on one position up,
+     * adding delta to their running balances, to make room for an entry projected late.
+     * The rows get the negated new sequence numbers, so that no row collides with another in
+     * uk_account_activity_account_seq while the statement runs; restoreShiftedSequences completes
+     * the move.
+     *
+     * @param accountId    the account ID
+     * @param fromSequence the sequence number of the first row to move
+     * @param delta        the signed amount of the inserted entry
+     * @return the number of moved rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AccountActivity a SET a.sequence = -(a.sequence + 1), a.runningBalance = a.runningBalance + :delta "
+            + "WHERE a.accountId = :accountId AND a.sequence >= :fromSequence")
+    int shiftSequencesFrom(@Param("accountId") Long accountId,
+                           @Param("fromSequence") long fromSequence,
+                           @Param("delta") BigDecimal delta);
+
+    /**
+     * Turns the negated sequence numbers left by shiftSequencesFrom positive again.
+     *
+     * @param accountId the account ID
+     * @return the number of moved rows
+     */
+    @Modifying
+    @Query("UPDATE AccountActivity a SET a.sequence = -a.sequence WHERE a.accountId = :accountId AND a.sequence < 0")
+    int restoreShiftedSequences(@Param("accountId") Long accountId);
+
+    /**
+     * Returns the state and the running balance of the last activity row of every seeded account
+     * in an ID range that has activity.
+     *
+     * @param fromId the lowest account ID, inclusive
+     * @param toId   the highest account ID, inclusive
+     * @return one balance per account with activity rows
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountActivityBalance(s.accountId, s.lastSequence, "
+            + "s.balance, a.runningBalance) FROM AccountActivityState s JOIN AccountActivity a "
+            + "ON a.accountId = s.accountId AND a.sequence = s.lastSequence "
+            + "WHERE s.accountId BETWEEN :fromId AND :toId")
+    List<AccountActivityBalance> findActivityBalancesBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,82 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.AccountActivityState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for AccountActivityState entity operations.
+ */
+@Repository
+public interface AccountActivityStateRepository extends JpaRepository<AccountActivityState, Long> {
+
+    /**
+     * Finds and locks the states of the given accounts with a single query, in ascending account
+     * ID order, so that concurrent projections over overlapping accounts cannot deadlock.
+     *
+     * @param accountIds the account IDs
+     * @return the locked states that exist, sorted by account ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountActivityState s WHERE s.accountId IN :accountIds ORDER BY s.accountId")
+    List<AccountActivityState> findAllByAccountIdInWithLock(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Creates the empty states of newly created accounts, which have no journal entries yet.
+     * Called in the transaction that inserts the accounts.
+     *
+     * @param accountIds the IDs of the new accounts
+     * @return the number of created states
+     */
+    @Modifying
+    @Query("INSERT INTO AccountActivityState (accountId, lastSequence, balance) "
+            + "SELECT a.id, 0, 0.00BD FROM LedgerAccount a WHERE a.id IN :accountIds")
+    int createForNewAccounts(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Creates the state of an account that is about to be seeded. As the first statement of the
+     * seeding transaction, the row is locked before the journal is read.
+     *
+     * @param accountId the account ID
+     * @return the number of created states
+     */
+    @Modifying
+    @Query("INSERT INTO AccountActivityState (accountId, lastSequence, balance) VALUES (:accountId, 0, 0.00BD)")
+    int createForSeeding(@Param("accountId") Long accountId);
+
+    /**
+     * Records the last sequence number and balance of a seeded account.
+     *
+     * @param accountId    the account ID
+     * @param lastSequence the sequence number of the account's last activity row
+     * @param balance      the running balance after that row
+     * @return the number of updated states
+     */
+    @Modifying
+    @Query("UPDATE AccountActivityState s SET s.lastSequence = :lastSequence, s.balance = :balance "
+            + "WHERE s.accountId = :accountId")
+    int updateSeeded(@Param("accountId") Long accountId,
+                     @Param("lastSequence") long lastSequence,
+                     @Param("balance") BigDecimal balance);
+
+    /**
+     * Finds accounts that have no state yet, i.e. accounts created before the account activity
+     * read model, in ascending ID order.
+     *
+     * @param limit the maximum number of IDs
+     * @return the IDs of unseeded accounts
+     */
+    @Query("SELECT a.id FROM LedgerAccount a WHERE NOT EXISTS "
+            + "(SELECT 1 FROM AccountActivityState s WHERE s.accountId = a.id) ORDER BY a.id")
+    List<Long> findUnseededAccountIds(Limit limit);
+}
@@ -0,0 +1,61 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.AccountBalanceSlot;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AccountBalanceSlot entity operations.
+ */
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    /**
+     * Finds all slots of an account, sorted by slot index.
+     *
+     * @param account the hot LedgerAccount
+     * @return the slots of the account
+     */
+    List<AccountBalanceSlot> findByAccountOrderBySlotIndex(LedgerAccount account);
+
+    /**
+     * Finds a single slot of an account with pessimistic write lock.
+     *
+     * @param account   the hot LedgerAccount
+     * @param slotIndex the index of the slot to lock
+     * @return an Optional containing the locked slot if found, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.account = :account AND s.slotIndex = :slotIndex")
+    Optional<AccountBalanceSlot> findByAccountAndSlotIndexWithLock(@Param("account") LedgerAccount account,
+                                                                   @Param("slotIndex") int slotIndex);
+
+    /**
+     * Finds all slots of an account with pessimistic write lock.
+     * Slots are locked in ascending slot index order.
+     *
+     * @param account the hot LedgerAccount
+     * @return the locked slots of the account, sorted by slot index
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.account = :account ORDER BY s.slotIndex")
+    List<AccountBalanceSlot> findByAccountWithLock(@Param("account") LedgerAccount account);
+
+    /**
+     * Sums the balances of all slots of an account without locking.
+     *
+     * @param account the hot LedgerAccount
+     * @return the sum of the slot balances, zero if the account has no slots
+     */
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.account = :account")
+    BigDecimal sumBalanceByAccount(@Param("account") LedgerAccount account);
+}
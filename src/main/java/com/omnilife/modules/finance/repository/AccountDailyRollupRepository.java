@@ -0,0 +1,44 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.AccountDailyRollup;
+import com.omnilife.modules.finance.dto.DailyRollupRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AccountDailyRollup entity operations.
+ * Queries are served by the uk_account_daily_rollup_account_date index.
+ */
+@Repository
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollup, Long> {
+
+    /**
+     * Finds the rollup of an account on one day.
+     *
+     * @param accountId    the account ID
+     * @param activityDate the day
+     * @return the rollup, or empty if the account had no entries on that day yet
+     */
+    Optional<AccountDailyRollup> findByAccountIdAndActivityDate(Long accountId, LocalDate activityDate);
+
+    /**
+     * Finds the rollups of an account between two days, inclusive, as rows.
+     *
+     * @param accountId the account ID
+     * @param from      the first day
+     * @param to        the last day
+     * @return one row per day with entries, oldest first
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.DailyRollupRow("
+            + "r.activityDate, r.inflow, r.outflow, r.creditCount, r.debitCount) FROM AccountDailyRollup r "
+            + "WHERE r.accountId = :accountId AND r.activityDate BETWEEN :from AND :to ORDER BY r.activityDate")
+    List<DailyRollupRow> findRows(@Param("accountId") Long accountId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+}
@@ -0,0 +1,213 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.ArchivedJournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountBalanceDelta;
+import com.omnilife.modules.finance.dto.AccountJournalBalance;
+import com.omnilife.modules.finance.dto.DailyRollupRow;
+import com.omnilife.modules.finance.dto.JournalEntryExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for ArchivedJournalEntry entity operations.
+ * The queries mirror those of JournalEntryRepository that have to include archived entries.
+ */
+@Repository
+public interface ArchivedJournalEntryRepository extends JpaRepository<ArchivedJournalEntry, Long> {
+
+    /**
+     * JPQL expression for the signed amount of an entry: positive for CREDIT, negative for DEBIT.
+     */
+    String SIGNED_AMOUNT = "CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT "
+            + "THEN e.amount ELSE -e.amount END";
+
+    /**
+     * Copies journal entries into the archive. The caller deletes them from the journal in the
+     * same transaction.
+     *
+     * @param ids the IDs of the journal entries
+     * @return the number of archived entries
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedJournalEntry (id, transactionId, account, amount, type, description, fxRate, timestamp) "
+            + "SELECT e.id, e.transactionId, e.account, e.amount, e.type, e.description, e.fxRate, e.timestamp "
+            + "FROM JournalEntry e WHERE e.id IN :ids")
+    int copyFromJournal(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Counts the archived entries of an account.
+     *
+     * @param account the LedgerAccount
+     * @return the number of archived entries
+     */
+    long countByAccount(LedgerAccount account);
+
+    /**
+     * Finds archived entries of an account, newest first, skipping the given number of entries.
+     *
+     * @param account the LedgerAccount
+     * @param offset  the number of newest archived entries to skip
+     * @param limit   the maximum number of entries
+     * @return the entries, ordered by timestamp and ID descending
+     */
+    @Query("SELECT e FROM ArchivedJournalEntry e WHERE e.account = :account "
+            + "ORDER BY e.timestamp DESC, e.id DESC LIMIT :limit OFFSET :offset")
+    List<ArchivedJournalEntry> findByAccountWithOffset(@Param("account") LedgerAccount account,
+                                                       @Param("offset") int offset,
+                                                       @Param("limit") int limit);
+
+    /**
+     * Finds the most recent archived entries of an account, newest first.
+     *
+     * @param account the LedgerAccount
+     * @param limit   the maximum number of entries
+     * @return the newest archived entries, ordered by timestamp and ID descending
+     */
+    @Query("SELECT e FROM ArchivedJournalEntry e WHERE e.account = :account ORDER BY e.timestamp DESC, e.id DESC")
+    List<ArchivedJournalEntry> findLatestByAccount(@Param("account") LedgerAccount account, Limit limit);
+
+    /**
+     * Finds the archived entries of an account that are older than (timestamp, id), newest first.
+     *
+     * @param account   the LedgerAccount
+     * @param timestamp the timestamp of the last entry already returned
+     * @param id        the ID of the last entry already returned
+     * @param limit     the maximum number of entries
+     * @return the next entries, ordered by timestamp and ID descending
+     */
+    @Query("SELECT e FROM ArchivedJournalEntry e WHERE e.account = :account AND e.timestamp <= :timestamp "
+            + "AND (e.timestamp < :timestamp OR e.id < :id) ORDER BY e.timestamp DESC, e.id DESC")
+    List<ArchivedJournalEntry> findByAccountBefore(@Param("account") LedgerAccount account,
+                                                   @Param("timestamp") LocalDateTime timestamp,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    /**
+     * Streams all archived entries of an account in chronological order as export rows; see
+     * JournalEntryRepository.streamExportRowsByAccount.
+     *
+     * @param account the LedgerAccount to export entries for
+     * @return the entries, ordered by timestamp and ID ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JournalEntryRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.omnilife.modules.finance.dto.JournalEntryExportRow("
+            + "e.id, e.transactionId, e.type, e.amount, a.currency, e.timestamp, e.description) "
+            + "FROM ArchivedJournalEntry e JOIN e.account a WHERE a = :account ORDER BY e.timestamp, e.id")
+    Stream<JournalEntryExportRow> streamExportRowsByAccount(@Param("account") LedgerAccount account);
+
+    /**
+     * Finds the oldest archived entries of an account; see JournalEntryRepository.findOldestByAccount.
+     *
+     * @param account the LedgerAccount
+     * @param limit   the maximum number of entries
+     * @return the oldest archived entries, ordered by timestamp and ID ascending
+     */
+    @Query("SELECT e FROM ArchivedJournalEntry e WHERE e.account = :account ORDER BY e.timestamp, e.id")
+    List<ArchivedJournalEntry> findOldestByAccount(@Param("account") LedgerAccount account, Limit limit);
+
+    /**
+     * Finds the archived entries of an account that are newer than (timestamp, id), oldest first.
+     *
+     * @param account   the LedgerAccount
+     * @param timestamp the timestamp of the last entry already read
+     * @param id        the ID of the last entry already read
+     * @param limit     the maximum number of entries
+     * @return the next entries, ordered by timestamp and ID ascending
+     */
+    @Query("SELECT e FROM ArchivedJournalEntry e WHERE e.account = :account AND e.timestamp >= :timestamp "
+            + "AND (e.timestamp > :timestamp OR e.id > :id) ORDER BY e.timestamp, e.id")
+    List<ArchivedJournalEntry> findByAccountAfter(@Param("account") LedgerAccount account,
+                                                  @Param("timestamp") LocalDateTime timestamp,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    /**
+     * Aggregates the archived entries of an account between two points in time per day; see
+     * JournalEntryRepository.findDailyRollupRows.
+     *
+     * @param account the LedgerAccount
+     * @param from    the start, inclusive
+     * @param to      the end, exclusive
+     * @return one row per day with entries, oldest first
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.DailyRollupRow(extract(date from e.timestamp), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT THEN e.amount ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.DEBIT THEN e.amount ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.DEBIT THEN 1 ELSE 0 END)) "
+            + "FROM ArchivedJournalEntry e WHERE e.account = :account AND e.timestamp >= :from AND e.timestamp < :to "
+            + "GROUP BY extract(date from e.timestamp) ORDER BY extract(date from e.timestamp)")
+    List<DailyRollupRow> findDailyRollupRows(@Param("account") LedgerAccount account,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Sums the signed amounts of an account's archived entries with a timestamp after from and up
+     * to and including to.
+     *
+     * @param account the LedgerAccount
+     * @param from    the exclusive lower bound
+     * @param to      the inclusive upper bound
+     * @return the net change in the window, zero if there is none
+     */
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM ArchivedJournalEntry e "
+            + "WHERE e.account = :account AND e.timestamp > :from AND e.timestamp <= :to")
+    BigDecimal sumSignedAmountByAccountBetween(@Param("account") LedgerAccount account,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    /**
+     * Computes the net change per account of the archived entries in a time window; see
+     * JournalEntryRepository.findBalanceDeltasBetween. Served by the idx_journal_archive_timestamp index.
+     *
+     * @param from           the exclusive lower bound
+     * @param to             the inclusive upper bound
+     * @param afterAccountId the last account ID already processed, 0 to start
+     * @param limit          the maximum number of accounts
+     * @return one delta per account with archived entries in the window
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountBalanceDelta(e.account.id, SUM(" + SIGNED_AMOUNT + ")) "
+            + "FROM ArchivedJournalEntry e WHERE e.timestamp > :from AND e.timestamp <= :to AND e.account.id > :afterAccountId "
+            + "GROUP BY e.account.id ORDER BY e.account.id")
+    List<AccountBalanceDelta> findBalanceDeltasBetween(@Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("afterAccountId") Long afterAccountId,
+                                                       Limit limit);
+
+    /**
+     * Returns the timestamp of the oldest archived entry. Served by the idx_journal_archive_timestamp index.
+     *
+     * @return the oldest timestamp, or null if the archive is empty
+     */
+    @Query("SELECT MIN(e.timestamp) FROM ArchivedJournalEntry e")
+    LocalDateTime findMinTimestamp();
+
+    /**
+     * Computes the archived part of the journal balance of every account in an ID range that has
+     * archived entries, with the number of archived entries.
+     *
+     * @param fromId the lowest account ID, inclusive
+     * @param toId   the highest account ID, inclusive
+     * @return one balance and entry count per account with archived entries
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountJournalBalance(e.account.id, SUM(" + SIGNED_AMOUNT + "), "
+            + "COUNT(e)) FROM ArchivedJournalEntry e WHERE e.account.id BETWEEN :fromId AND :toId GROUP BY e.account.id")
+    List<AccountJournalBalance> findJournalBalancesBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,76 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.AsyncTransfer;
+import com.omnilife.modules.finance.domain.AsyncTransferStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for AsyncTransfer entity operations.
+ */
+@Repository
+public interface AsyncTransferRepository extends JpaRepository<AsyncTransfer, UUID> {
+
+    /**
+     * Finds transfers in a status whose claim is older than the cutoff, oldest claim first.
+     * Served by the idx_async_transfer_status_claimed index.
+     *
+     * @param status the status
+     * @param cutoff the claim time before which a claim has expired
+     * @param limit  the maximum number of transfers
+     * @return the transfers with an expired claim
+     */
+    List<AsyncTransfer> findByStatusAndClaimedAtBeforeOrderByClaimedAt(AsyncTransferStatus status,
+                                                                        LocalDateTime cutoff,
+                                                                        Limit limit);
+
+    /**
+     * Claims a PENDING transfer for execution. Only one of several concurrent callers succeeds,
+     * because the attempt count no longer matches for the others.
+     *
+     * @param id       the transfer ID
+     * @param attempts the attempt count as read by the caller
+     * @param now      the claim time
+     * @return 1 if the transfer was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE AsyncTransfer t SET t.attempts = t.attempts + 1, t.claimedAt = :now WHERE t.id = :id "
+            + "AND t.status = com.omnilife.modules.finance.domain.AsyncTransferStatus.PENDING AND t.attempts = :attempts")
+    int claim(@Param("id") UUID id, @Param("attempts") int attempts, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a PENDING transfer to COMPLETED or FAILED.
+     *
+     * @param id            the transfer ID
+     * @param status        the final status
+     * @param failureReason why the transfer failed, or null
+     * @param now           the completion time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE AsyncTransfer t SET t.status = :status, t.failureReason = :failureReason, t.completedAt = :now "
+            + "WHERE t.id = :id AND t.status = com.omnilife.modules.finance.domain.AsyncTransferStatus.PENDING")
+    int finish(@Param("id") UUID id,
+               @Param("status") AsyncTransferStatus status,
+               @Param("failureReason") String failureReason,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes the COMPLETED and FAILED transfers created before the cutoff.
+     *
+     * @param cutoff the oldest creation time to keep
+     * @return the number of deleted transfers
+     */
+    @Modifying
+    @Query("DELETE FROM AsyncTransfer t WHERE t.createdAt < :cutoff "
+            + "AND t.status <> com.omnilife.modules.finance.domain.AsyncTransferStatus.PENDING")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,68 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.BalanceSnapshot;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for BalanceSnapshot entity operations.
+ */
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Finds the latest snapshot of an account taken at or before the given time.
+     * Served by the uk_balance_snapshot_account_as_of index.
+     *
+     * @param account the LedgerAccount
+     * @param asOf    the point in time
+     * @return the nearest earlier snapshot, or empty if the account has none
+     */
+    Optional<BalanceSnapshot> findFirstByAccountAndAsOfLessThanEqualOrderByAsOfDesc(LedgerAccount account,
+                                                                                    LocalDateTime asOf);
+
+    /**
+     * Finds, for each of the given accounts, its latest snapshot taken at or before the given time.
+     * Accounts without such a snapshot are absent from the result.
+     *
+     * @param accountIds the account IDs
+     * @param asOf       the point in time
+     * @return at most one snapshot per account
+     */
+    @Query("SELECT s FROM BalanceSnapshot s WHERE s.account.id IN :accountIds AND s.asOf = "
+            + "(SELECT MAX(s2.asOf) FROM BalanceSnapshot s2 WHERE s2.account = s.account AND s2.asOf <= :asOf)")
+    List<BalanceSnapshot> findLatestByAccountIds(@Param("accountIds") Collection<Long> accountIds,
+                                                 @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Finds, for each of the given accounts, its earliest snapshot taken after the given time.
+     * Accounts without such a snapshot are absent from the result.
+     *
+     * @param accountIds the account IDs
+     * @param asOf       the point in time
+     * @return at most one snapshot per account
+     */
+    @Query("SELECT s FROM BalanceSnapshot s WHERE s.account.id IN :accountIds AND s.asOf = "
+            + "(SELECT MIN(s2.asOf) FROM BalanceSnapshot s2 WHERE s2.account = s.account AND s2.asOf > :asOf)")
+    List<BalanceSnapshot> findEarliestAfterByAccountIds(@Param("accountIds") Collection<Long> accountIds,
+                                                        @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Returns which of the given accounts already have a snapshot at exactly the given time.
+     *
+     * @param accountIds the account IDs
+     * @param asOf       the snapshot time
+     * @return the IDs of the accounts that have a snapshot at asOf
+     */
+    @Query("SELECT s.account.id FROM BalanceSnapshot s WHERE s.account.id IN :accountIds AND s.asOf = :asOf")
+    List<Long> findAccountIdsWithSnapshotAt(@Param("accountIds") Collection<Long> accountIds,
+                                            @Param("asOf") LocalDateTime asOf);
+}
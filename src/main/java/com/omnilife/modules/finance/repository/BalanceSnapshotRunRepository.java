@@ -0,0 +1,29 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.BalanceSnapshotRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for BalanceSnapshotRun entity operations.
+ */
+@Repository
+public interface BalanceSnapshotRunRepository extends JpaRepository<BalanceSnapshotRun, LocalDateTime> {
+
+    /**
+     * Finds the most recent completed snapshot run.
+     *
+     * @return the run with the latest asOf, or empty if no run has completed yet
+     */
+    Optional<BalanceSnapshotRun> findTopByOrderByAsOfDesc();
+
+    /**
+     * Finds the earliest completed snapshot run, including the runs of BalanceSnapshotBackfill.
+     *
+     * @return the run with the earliest asOf, or empty if no run has completed yet
+     */
+    Optional<BalanceSnapshotRun> findTopByOrderByAsOfAsc();
+}
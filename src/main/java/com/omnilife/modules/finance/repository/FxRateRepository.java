@@ -0,0 +1,23 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for FxRate entity operations.
+ */
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+
+    /**
+     * Finds the rate from one currency to another.
+     *
+     * @param baseCurrency  the currency converted from
+     * @param quoteCurrency the currency converted to
+     * @return the rate, or empty if none is configured
+     */
+    Optional<FxRate> findByBaseCurrencyAndQuoteCurrency(String baseCurrency, String quoteCurrency);
+}
@@ -0,0 +1,88 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for IdempotencyRecord entity operations.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims an idempotency key by inserting a PENDING record.
+     * Unlike save, which merges a record with an assigned ID, this fails with a duplicate key
+     * error if the key has already been claimed, also by a concurrent uncommitted request.
+     *
+     * @param idempotencyKey     the key
+     * @param requestFingerprint the fingerprint of the request
+     * @param transactionId      the transaction ID the transfer will use
+     * @param now                the claim time
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, transaction_id, status, "
+            + "created_at, claimed_at) VALUES (:idempotencyKey, :requestFingerprint, :transactionId, 'PENDING', :now, :now)",
+            nativeQuery = true)
+    int claim(@Param("idempotencyKey") String idempotencyKey,
+              @Param("requestFingerprint") String requestFingerprint,
+              @Param("transactionId") String transactionId,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Takes over a PENDING key whose claim has expired. Only one of several concurrent callers
+     * succeeds, because the claim time no longer matches for the others.
+     *
+     * @param idempotencyKey the key
+     * @param claimedAt      the expired claim time as read by the caller
+     * @param now            the new claim time
+     * @return 1 if the key was taken over, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.claimedAt = :now WHERE r.idempotencyKey = :idempotencyKey "
+            + "AND r.status = com.omnilife.modules.finance.domain.IdempotencyStatus.PENDING AND r.claimedAt = :claimedAt")
+    int reclaim(@Param("idempotencyKey") String idempotencyKey,
+                @Param("claimedAt") LocalDateTime claimedAt,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Marks a key as COMPLETED.
+     *
+     * @param idempotencyKey the key
+     * @param now            the completion time
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.omnilife.modules.finance.domain.IdempotencyStatus.COMPLETED, "
+            + "r.completedAt = :now WHERE r.idempotencyKey = :idempotencyKey")
+    int markCompleted(@Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Releases a PENDING key whose transfer failed, so that the request can be retried.
+     *
+     * @param idempotencyKey the key
+     * @param transactionId  the transaction ID of the failed attempt
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey "
+            + "AND r.transactionId = :transactionId "
+            + "AND r.status = com.omnilife.modules.finance.domain.IdempotencyStatus.PENDING")
+    int release(@Param("idempotencyKey") String idempotencyKey, @Param("transactionId") String transactionId);
+
+    /**
+     * Deletes the records of keys created before the cutoff.
+     *
+     * @param cutoff the oldest creation time to keep
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,12 +2,30 @@ package com.omnilife.modules.finance.repository;
 
 import com.omnilife.modules.finance.domain.JournalEntry;
 import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountBalanceDelta;
+import com.omnilife.modules.finance.dto.AccountJournalBalance;
+import com.omnilife.modules.finance.dto.DailyRollupRow;
+import com.omnilife.modules.finance.dto.JournalEntryExportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for JournalEntry entity operations.
@@ -15,15 +33,29 @@ import java.util.List;
 @Repository
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
 
+    /**
+     * JDBC fetch size of history exports: Integer.MIN_VALUE makes MySQL Connector/J stream the
+     * result row by row instead of reading it whole, so memory use stays constant without server
+     * side cursors. The connection can run no other statement until the stream is closed. The
+     * value is specific to MySQL; the embedded H2 database rejects it.
+     */
+    String EXPORT_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * JPQL expression for the signed amount of an entry: positive for CREDIT, negative for DEBIT.
+     */
+    String SIGNED_AMOUNT = "CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT "
+            + "THEN e.amount ELSE -e.amount END";
+
     /**
      * Finds all journal entries associated with a specific transaction ID.
      * Multiple entries can share the same transaction ID (e.g., DEBIT and CREDIT entries
-     * for the same transfer).
+     * for the same transfer). Served by the idx_journal_txn_id index.
      *
      * @param transactionId the transaction ID to search for
      * @return a list of JournalEntry entities with the given transaction ID
      */
-    List<JournalEntry> findByTransactionId(String transactionId);
+    List<JournalEntry> findByTransactionId(UUID transactionId);
 
     /**
      * Finds all journal entries for a specific account, sorted by timestamp in descending order
@@ -34,6 +66,179 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
      * @return a page of JournalEntry entities for the account, sorted by timestamp descending
      */
     Page<JournalEntry> findByAccountOrderByTimestampDesc(LedgerAccount account, Pageable pageable);
-}
 
+    /**
+     * Finds the most recent journal entries of an account, newest first.
+     * Served by the idx_journal_account_ts_id index without a sort or a count query.
+     *
+     * @param account the LedgerAccount to find entries for
+     * @param limit   the maximum number of entries
+     * @return the newest entries, ordered by timestamp and ID descending
+     */
+    @Query("SELECT e FROM JournalEntry e WHERE e.account = :account ORDER BY e.timestamp DESC, e.id DESC")
+    List<JournalEntry> findLatestByAccount(@Param("account") LedgerAccount account, Limit limit);
+
+    /**
+     * Finds the journal entries of an account that come after the given position in
+     * newest-first order, i.e. that are older than (timestamp, id).
+     * The cost does not depend on how many entries precede the position.
+     *
+     * @param account   the LedgerAccount to find entries for
+     * @param timestamp the timestamp of the last entry already returned
+     * @param id        the ID of the last entry already returned
+     * @param limit     the maximum number of entries
+     * @return the next entries, ordered by timestamp and ID descending
+     */
+    @Query("SELECT e FROM JournalEntry e WHERE e.account = :account AND e.timestamp <= :timestamp "
+            + "AND (e.timestamp < :timestamp OR e.id < :id) ORDER BY e.timestamp DESC, e.id DESC")
+    List<JournalEntry> findByAccountBefore(@Param("account") LedgerAccount account,
+                                           @Param("timestamp") LocalDateTime timestamp,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    /**
+     * Streams all journal entries of an account in chronological order as export rows.
+     * Rows are read from the database one by one while the stream is consumed (see
+     * EXPORT_FETCH_SIZE); the stream must be consumed and closed within a transaction.
+     *
+     * @param account the LedgerAccount to export entries for
+     * @return the entries, ordered by timestamp and ID ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.omnilife.modules.finance.dto.JournalEntryExportRow("
+            + "e.id, e.transactionId, e.type, e.amount, a.currency, e.timestamp, e.description) "
+            + "FROM JournalEntry e JOIN e.account a WHERE a = :account ORDER BY e.timestamp, e.id")
+    Stream<JournalEntryExportRow> streamExportRowsByAccount(@Param("account") LedgerAccount account);
+
+    /**
+     * Finds the oldest journal entries of an account; with findByAccountAfter, used to read the
+     * journal of an account in chronological pages while seeding the account activity read model.
+     *
+     * @param account the LedgerAccount
+     * @param limit   the maximum number of entries
+     * @return the oldest entries, ordered by timestamp and ID ascending
+     */
+    @Query("SELECT e FROM JournalEntry e WHERE e.account = :account ORDER BY e.timestamp, e.id")
+    List<JournalEntry> findOldestByAccount(@Param("account") LedgerAccount account, Limit limit);
+
+    /**
+     * Finds the journal entries of an account that are newer than (timestamp, id), oldest first.
+     * Served by the idx_journal_account_ts_id index.
+     *
+     * @param account   the LedgerAccount
+     * @param timestamp the timestamp of the last entry already read
+     * @param id        the ID of the last entry already read
+     * @param limit     the maximum number of entries
+     * @return the next entries, ordered by timestamp and ID ascending
+     */
+    @Query("SELECT e FROM JournalEntry e WHERE e.account = :account AND e.timestamp >= :timestamp "
+            + "AND (e.timestamp > :timestamp OR e.id > :id) ORDER BY e.timestamp, e.id")
+    List<JournalEntry> findByAccountAfter(@Param("account") LedgerAccount account,
+                                          @Param("timestamp") LocalDateTime timestamp,
+                                          @Param("id") Long id,
+                                          Limit limit);
 
+    /**
+     * Aggregates the entries of an account between two points in time per day, as rows like those
+     * of the daily rollups; the statistics fallback for accounts whose rollups are not seeded yet.
+     * Served by the idx_journal_account_ts_id index.
+     *
+     * @param account the LedgerAccount
+     * @param from    the start, inclusive
+     * @param to      the end, exclusive
+     * @return one row per day with entries, oldest first
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.DailyRollupRow(extract(date from e.timestamp), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT THEN e.amount ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.DEBIT THEN e.amount ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.CREDIT THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = com.omnilife.modules.finance.domain.JournalEntryType.DEBIT THEN 1 ELSE 0 END)) "
+            + "FROM JournalEntry e WHERE e.account = :account AND e.timestamp >= :from AND e.timestamp < :to "
+            + "GROUP BY extract(date from e.timestamp) ORDER BY extract(date from e.timestamp)")
+    List<DailyRollupRow> findDailyRollupRows(@Param("account") LedgerAccount account,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Sums the signed amounts of an account's entries with a timestamp after from and up to and
+     * including to. Served by the idx_journal_account_ts_id index; the cost depends on the number
+     * of entries in the window only.
+     *
+     * @param account the LedgerAccount
+     * @param from    the exclusive lower bound
+     * @param to      the inclusive upper bound
+     * @return the net change of the account's journal balance in the window, zero if there is none
+     */
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM JournalEntry e "
+            + "WHERE e.account = :account AND e.timestamp > :from AND e.timestamp <= :to")
+    BigDecimal sumSignedAmountByAccountBetween(@Param("account") LedgerAccount account,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    /**
+     * Computes the net journal change per account for the entries with a timestamp after from and
+     * up to and including to, for the accounts with an ID above afterAccountId, in ascending
+     * account ID order. Called repeatedly with the last returned account ID to walk all accounts
+     * with activity in the window.
+     *
+     * @param from           the exclusive lower bound
+     * @param to             the inclusive upper bound
+     * @param afterAccountId the last account ID already processed, 0 to start
+     * @param limit          the maximum number of accounts
+     * @return one delta per account with entries in the window
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountBalanceDelta(e.account.id, SUM(" + SIGNED_AMOUNT + ")) "
+            + "FROM JournalEntry e WHERE e.timestamp > :from AND e.timestamp <= :to AND e.account.id > :afterAccountId "
+            + "GROUP BY e.account.id ORDER BY e.account.id")
+    List<AccountBalanceDelta> findBalanceDeltasBetween(@Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("afterAccountId") Long afterAccountId,
+                                                       Limit limit);
+
+    /**
+     * Returns the timestamp of the oldest journal entry. Served by the idx_journal_timestamp index.
+     *
+     * @return the oldest timestamp, or null if the journal is empty
+     */
+    @Query("SELECT MIN(e.timestamp) FROM JournalEntry e")
+    LocalDateTime findMinTimestamp();
+
+    /**
+     * Computes the journal balance, all CREDIT minus all DEBIT entries, of every account in an ID
+     * range that has journal entries, with the number of entries.
+     *
+     * @param fromId the lowest account ID, inclusive
+     * @param toId   the highest account ID, inclusive
+     * @return one balance and entry count per account with entries
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountJournalBalance(e.account.id, SUM(" + SIGNED_AMOUNT + "), "
+            + "COUNT(e)) FROM JournalEntry e WHERE e.account.id BETWEEN :fromId AND :toId GROUP BY e.account.id")
+    List<AccountJournalBalance> findJournalBalancesBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Finds and locks the oldest journal entries with a timestamp before the cutoff, for moving
+     * them to the archive. Served by the idx_journal_timestamp index. The row locks make a
+     * concurrent archiver on another instance wait and then continue after this batch, so entries
+     * are archived in timestamp order.
+     *
+     * @param cutoff the exclusive upper bound of the timestamps
+     * @param limit  the maximum number of entries
+     * @return the IDs of the entries, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM JournalEntry e WHERE e.timestamp < :cutoff ORDER BY e.timestamp, e.id")
+    List<Long> findIdsToArchive(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Deletes journal entries by ID, once they have been copied to the archive.
+     *
+     * @param ids the IDs of the entries
+     * @return the number of deleted entries
+     */
+    @Modifying
+    @Query("DELETE FROM JournalEntry e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,13 +1,19 @@
 package com.omnilife.modules.finance.repository;
 
 import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountCurrency;
+import com.omnilife.modules.finance.dto.StoredAccountBalance;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -35,6 +41,84 @@ public interface LedgerAccountRepository extends JpaRepository<LedgerAccount, Lo
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM LedgerAccount a WHERE a.accountNumber = :accountNumber")
     Optional<LedgerAccount> findByAccountNumberWithLock(@Param("accountNumber") String accountNumber);
-}
 
+    /**
+     * Finds all ledger accounts with the given account numbers with pessimistic write lock,
+     * in a single round trip.
+     * Rows are read in ascending account number order, so InnoDB acquires the row locks in
+     * that same order. Every caller that locks several accounts through this method therefore
+     * locks them in one global order, which rules out lock-ordering deadlocks between
+     * concurrent transactions.
+     *
+     * @param accountNumbers the account numbers to lock
+     * @return the locked LedgerAccount entities that exist, sorted by account number
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM LedgerAccount a WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<LedgerAccount> findAllByAccountNumberInWithLock(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Finds the account numbers of all hot accounts (accounts with sub-balance slots).
+     *
+     * @return the account numbers of all hot accounts
+     */
+    @Query("SELECT a.accountNumber FROM LedgerAccount a WHERE a.balanceSlots > 0")
+    List<String> findHotAccountNumbers();
+
+    /**
+     * Adds a (possibly negative) delta to an account balance with a single UPDATE statement,
+     * without loading the entity. The version is incremented as well, so that concurrent
+     * optimistic updates of the same row detect the change.
+     *
+     * @param id    the account ID
+     * @param delta the amount to add to the balance
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE LedgerAccount a SET a.balance = a.balance + :delta, a.version = a.version + 1 WHERE a.id = :id")
+    int adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 
+    /**
+     * Returns which of the given account numbers are already taken.
+     *
+     * @param accountNumbers the candidate account numbers
+     * @return the candidates that belong to an existing account
+     */
+    @Query("SELECT a.accountNumber FROM LedgerAccount a WHERE a.accountNumber IN :accountNumbers")
+    List<String> findExistingAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Returns the currencies of those of the given accounts that exist.
+     *
+     * @param accountNumbers the account numbers
+     * @return one row per existing account
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.AccountCurrency(a.accountNumber, a.currency) "
+            + "FROM LedgerAccount a WHERE a.accountNumber IN :accountNumbers")
+    List<AccountCurrency> findCurrencies(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Returns the lowest account ID, or null if there are no accounts.
+     */
+    @Query("SELECT MIN(a.id) FROM LedgerAccount a")
+    Long findMinId();
+
+    /**
+     * Returns the highest account ID, or null if there are no accounts.
+     */
+    @Query("SELECT MAX(a.id) FROM LedgerAccount a")
+    Long findMaxId();
+
+    /**
+     * Reads the stored total balance of every account in an ID range without locking any row:
+     * the balance column plus the sum of the account's hot account slots.
+     *
+     * @param fromId the lowest account ID, inclusive
+     * @param toId   the highest account ID, inclusive
+     * @return one stored balance per account in the range
+     */
+    @Query("SELECT new com.omnilife.modules.finance.dto.StoredAccountBalance(a.id, a.accountNumber, "
+            + "a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceSlot s WHERE s.account = a), 0)) "
+            + "FROM LedgerAccount a WHERE a.id BETWEEN :fromId AND :toId")
+    List<StoredAccountBalance> findStoredBalancesBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,12 @@
+package com.omnilife.modules.finance.repository;
+
+import com.omnilife.modules.finance.domain.LedgerSequencerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for LedgerSequencerCheckpoint entity operations.
+ */
+@Repository
+public interface LedgerSequencerCheckpointRepository extends JpaRepository<LedgerSequencerCheckpoint, Integer> {
+}
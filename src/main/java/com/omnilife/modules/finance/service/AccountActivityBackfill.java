@@ -0,0 +1,185 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.AccountActivity;
+import com.omnilife.modules.finance.domain.AccountActivityState;
+import com.omnilife.modules.finance.domain.ArchivedJournalEntry;
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.repository.AccountActivityRepository;
+import com.omnilife.modules.finance.repository.AccountActivityStateRepository;
+import com.omnilife.modules.finance.repository.AccountDailyRollupRepository;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the account activity read model and daily rollups for accounts created before they existed.
+ *
+ * Accounts created since get an empty AccountActivityState together with the account, so only
+ * older accounts lack one. They are seeded one account per transaction: the state is inserted
+ * first, which locks it against AccountActivityProjector, then every archived and journal entry
+ * of the account is copied oldest first with its running balance, and the state is set to the
+ * last sequence number and balance. The daily rollups of the account are built along the way and
+ * saved at the end. Counterparties of these entries are taken from their transfer descriptions.
+ *
+ * Each run stops after the configured time to leave the scheduler to other jobs. Several
+ * instances may seed at once; an account seeded by another instance fails with a duplicate key
+ * and is skipped. Once a run finds no unseeded account, the job stops for the lifetime of the
+ * instance. Until an account is seeded, its history is read from the journal.
+ */
+@Component
+public class AccountActivityBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountActivityBackfill.class);
+
+    /**
+     * Activity rows written per flush while an account is seeded; bounds the persistence context.
+     */
+    private static final int FLUSH_SIZE = 1000;
+
+    private final AccountActivityRepository activityRepository;
+    private final AccountActivityStateRepository stateRepository;
+    private final AccountDailyRollupRepository rollupRepository;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxRunMillis;
+    private volatile boolean complete;
+
+    public AccountActivityBackfill(AccountActivityRepository activityRepository,
+                                   AccountActivityStateRepository stateRepository,
+                                   AccountDailyRollupRepository rollupRepository,
+                                   LedgerAccountRepository ledgerAccountRepository,
+                                   JournalEntryRepository journalEntryRepository,
+                                   ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${omnilife.finance.activity-backfill.chunk-size:100}") int chunkSize,
+                                   @Value("${omnilife.finance.activity-backfill.max-run-ms:5000}") long maxRunMillis) {
+        this.activityRepository = activityRepository;
+        this.stateRepository = stateRepository;
+        this.rollupRepository = rollupRepository;
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    /**
+     * Seeds unseeded accounts until none is left or the run time is used up.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.activity-backfill.interval-ms:10000}",
+            initialDelayString = "${omnilife.finance.activity-backfill.interval-ms:10000}")
+    public void seed() {
+        if (complete) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        long seeded = 0;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                List<Long> accountIds = stateRepository.findUnseededAccountIds(Limit.of(chunkSize));
+                if (accountIds.isEmpty()) {
+                    complete = true;
+                    log.info("Account activity read model seeded for all accounts");
+                    break;
+                }
+                for (Long accountId : accountIds) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> seedAccount(accountId));
+                        seeded++;
+                    } catch (DataIntegrityViolationException e) {
+                        log.debug("Account {} was seeded concurrently", accountId);
+                    }
+                    if (System.currentTimeMillis() >= deadline) {
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to seed the account activity read model, retrying on the next run", e);
+        }
+        if (seeded > 0) {
+            log.info("Seeded the account activity of {} accounts", seeded);
+        }
+    }
+
+    private void seedAccount(Long accountId) {
+        // Create the state before reading the journal; see AccountActivityProjector
+        stateRepository.createForSeeding(accountId);
+        LedgerAccount account = ledgerAccountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return;
+        }
+        String currency = account.getCurrency();
+        AccountActivityState state = new AccountActivityState(accountId, 0, BigDecimal.ZERO.setScale(Money.SCALE));
+        List<AccountActivity> activities = new ArrayList<>(FLUSH_SIZE);
+        // The account has no rollups yet, as the projector skips unseeded accounts
+        DailyRollups rollups = new DailyRollups((id, date) -> null);
+
+        // Archived entries are older than those in the journal, so they come first. Entries are
+        // read in keyset pages rather than streamed, as the rows are written while reading
+        List<ArchivedJournalEntry> archived = archivedJournalEntryRepository.findOldestByAccount(account,
+                Limit.of(FLUSH_SIZE));
+        while (!archived.isEmpty()) {
+            for (ArchivedJournalEntry entry : archived) {
+                activities.add(AccountActivityProjector.append(state, entry.getId(), entry.getTransactionId(),
+                        entry.getType(), entry.getAmount(), currency,
+                        JournalEntries.transferCounterparty(entry.getType(), entry.getDescription()),
+                        entry.getFxRate(), entry.getDescription(), entry.getTimestamp()));
+                rollups.add(accountId, entry.getTimestamp().toLocalDate(), entry.getType(), entry.getAmount());
+            }
+            flushIfFull(activities);
+            ArchivedJournalEntry last = archived.get(archived.size() - 1);
+            archived = archived.size() < FLUSH_SIZE ? List.of() : archivedJournalEntryRepository.findByAccountAfter(
+                    account, last.getTimestamp(), last.getId(), Limit.of(FLUSH_SIZE));
+        }
+        List<JournalEntry> entries = journalEntryRepository.findOldestByAccount(account, Limit.of(FLUSH_SIZE));
+        while (!entries.isEmpty()) {
+            for (JournalEntry entry : entries) {
+                activities.add(AccountActivityProjector.append(state, entry.getId(), entry.getTransactionId(),
+                        entry.getType(), entry.getAmount(), currency,
+                        JournalEntries.transferCounterparty(entry.getType(), entry.getDescription()),
+                        entry.getFxRate(), entry.getDescription(), entry.getTimestamp()));
+                rollups.add(accountId, entry.getTimestamp().toLocalDate(), entry.getType(), entry.getAmount());
+            }
+            flushIfFull(activities);
+            JournalEntry last = entries.get(entries.size() - 1);
+            entries = entries.size() < FLUSH_SIZE ? List.of() : journalEntryRepository.findByAccountAfter(
+                    account, last.getTimestamp(), last.getId(), Limit.of(FLUSH_SIZE));
+        }
+        activityRepository.saveAll(activities);
+        rollupRepository.saveAll(rollups.rollups());
+        stateRepository.updateSeeded(accountId, state.getLastSequence(), state.getBalance());
+    }
+
+    private void flushIfFull(List<AccountActivity> activities) {
+        if (activities.size() < FLUSH_SIZE) {
+            return;
+        }
+        activityRepository.saveAll(activities);
+        entityManager.flush();
+        entityManager.clear();
+        activities.clear();
+    }
+}
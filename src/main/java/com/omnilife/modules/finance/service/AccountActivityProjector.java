@@ -0,0 +1,201 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.AccountActivity;
+import com.omnilife.modules.finance.domain.AccountActivityState;
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.JournalEntryType;
+import com.omnilife.modules.finance.dto.ActivityPosition;
+import com.omnilife.modules.finance.event.DepositCompleted;
+import com.omnilife.modules.finance.event.PostingCompleted;
+import com.omnilife.modules.finance.event.TransferCompleted;
+import com.omnilife.modules.finance.repository.AccountActivityRepository;
+import com.omnilife.modules.finance.repository.AccountActivityStateRepository;
+import com.omnilife.modules.finance.repository.AccountDailyRollupRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Maintains the account activity read model from the ledger's domain events.
+ *
+ * Each listener runs asynchronously in its own transaction after the publishing transaction has
+ * committed. It first locks the AccountActivityState rows of the involved accounts, in ascending
+ * account ID order, then reads the committed journal entries of the transaction and adds one
+ * AccountActivity row per entry. The AccountDailyRollup rows of the entries' days are updated in
+ * the same transaction.
+ *
+ * Rows are kept in journal (timestamp, id) order, not in the order the events are handled:
+ * listeners run concurrently and resubmitted events arrive late, so a transaction may be projected
+ * after one that committed later. An entry that sorts after the last row is appended with the next
+ * sequence number. Otherwise it takes the place of the first row that sorts after it, whose running
+ * balance it continues, and that row and all following ones move one sequence number up with the
+ * entry's amount added to their running balances.
+ * Entries that already have a row are skipped, so a redelivered event is harmless, and accounts
+ * without a state are skipped, as seeding them includes every committed entry.
+ *
+ * Locking the states before reading anything else matters: a seeding transaction creates the
+ * state first and holds its lock while it copies the journal, so a listener either finds no
+ * state and leaves the entry to the seed, or waits for the seed and sees its rows.
+ */
+@Component
+public class AccountActivityProjector {
+
+    private final AccountActivityRepository activityRepository;
+    private final AccountActivityStateRepository stateRepository;
+    private final AccountDailyRollupRepository rollupRepository;
+    private final JournalEntryRepository journalEntryRepository;
+
+    public AccountActivityProjector(AccountActivityRepository activityRepository,
+                                    AccountActivityStateRepository stateRepository,
+                                    AccountDailyRollupRepository rollupRepository,
+                                    JournalEntryRepository journalEntryRepository) {
+        this.activityRepository = activityRepository;
+        this.stateRepository = stateRepository;
+        this.rollupRepository = rollupRepository;
+        this.journalEntryRepository = journalEntryRepository;
+    }
+
+    /**
+     * Projects the DEBIT and CREDIT entries of a transfer, each with the other account as counterparty.
+     *
+     * @param event the committed transfer
+     */
+    @ApplicationModuleListener
+    public void on(TransferCompleted event) {
+        project(event.transactionId(), Set.of(event.fromAccountId(), event.toAccountId()),
+                entry -> entry.getType() == JournalEntryType.DEBIT
+                        ? new EntryContext(event.currency(), event.toAccountNumber())
+                        : new EntryContext(event.creditedCurrency(), event.fromAccountNumber()));
+    }
+
+    /**
+     * Projects the entry of a deposit.
+     *
+     * @param event the committed deposit
+     */
+    @ApplicationModuleListener
+    public void on(DepositCompleted event) {
+        EntryContext context = new EntryContext(event.currency(), null);
+        project(event.transactionId(), Set.of(event.accountId()), entry -> context);
+    }
+
+    /**
+     * Projects the entries of a multi-leg posting, which have no single counterparty.
+     *
+     * @param event the committed posting
+     */
+    @ApplicationModuleListener
+    public void on(PostingCompleted event) {
+        Set<Long> accountIds = new HashSet<>();
+        for (PostingCompleted.Leg leg : event.legs()) {
+            accountIds.add(leg.accountId());
+        }
+        EntryContext context = new EntryContext(event.currency(), null);
+        project(event.transactionId(), accountIds, entry -> context);
+    }
+
+    private void project(UUID transactionId, Set<Long> accountIds, Function<JournalEntry, EntryContext> contexts) {
+        // Lock the states first; see the class comment
+        Map<Long, AccountActivityState> states = new HashMap<>();
+        for (AccountActivityState state : stateRepository.findAllByAccountIdInWithLock(accountIds)) {
+            states.put(state.getAccountId(), state);
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        List<JournalEntry> entries = new ArrayList<>(journalEntryRepository.findByTransactionId(transactionId));
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.sort(Comparator.comparing(JournalEntry::getId));
+        List<Long> entryIds = entries.stream().map(JournalEntry::getId).toList();
+        Set<Long> projected = new HashSet<>(activityRepository.findProjectedJournalEntryIds(entryIds));
+
+        DailyRollups rollups = new DailyRollups((accountId, date) ->
+                rollupRepository.findByAccountIdAndActivityDate(accountId, date).orElse(null));
+        for (JournalEntry entry : entries) {
+            AccountActivityState state = states.get(entry.getAccount().getId());
+            if (state == null || projected.contains(entry.getId())) {
+                continue;
+            }
+            EntryContext context = contexts.apply(entry);
+            ActivityPosition previous = activityRepository.findPositionBefore(state.getAccountId(),
+                    entry.getTimestamp(), entry.getId(), Limit.of(1)).stream().findFirst().orElse(null);
+            AccountActivity activity = append(state, entry.getId(), entry.getTransactionId(), entry.getType(),
+                    entry.getAmount(), context.currency(), context.counterpartyAccountNumber(),
+                    entry.getFxRate(), entry.getDescription(), entry.getTimestamp());
+            long sequence = previous == null ? 1 : previous.sequence() + 1;
+            if (sequence < activity.getSequence()) {
+                insertBefore(activity, sequence, previous == null ? BigDecimal.ZERO : previous.runningBalance());
+            }
+            // Saved one by one, so that the next lookup sees this row
+            activityRepository.save(activity);
+            rollups.add(state.getAccountId(), entry.getTimestamp().toLocalDate(), entry.getType(), entry.getAmount());
+        }
+        // Locked states are flushed on commit
+        rollupRepository.saveAll(rollups.rollups());
+    }
+
+    /**
+     * Moves an appended row to an earlier sequence number, after the given running balance, and
+     * moves the rows from that sequence number on one position up. The state keeps the total
+     * balance that append gave it, which does not depend on the order of the entries.
+     */
+    private void insertBefore(AccountActivity activity, long sequence, BigDecimal previousBalance) {
+        BigDecimal delta = activity.getType() == JournalEntryType.CREDIT
+                ? activity.getAmount()
+                : activity.getAmount().negate();
+        activityRepository.shiftSequencesFrom(activity.getAccountId(), sequence, delta);
+        activityRepository.restoreShiftedSequences(activity.getAccountId());
+        activity.setSequence(sequence);
+        activity.setRunningBalance(previousBalance.add(delta));
+    }
+
+    /**
+     * Creates the next activity row of an account and advances its state.
+     */
+    static AccountActivity append(AccountActivityState state, Long journalEntryId, UUID transactionId,
+                                  JournalEntryType type, BigDecimal amount, String currency,
+                                  String counterpartyAccountNumber, BigDecimal fxRate, String description,
+                                  LocalDateTime timestamp) {
+        BigDecimal balance = type == JournalEntryType.CREDIT
+                ? state.getBalance().add(amount)
+                : state.getBalance().subtract(amount);
+        state.setLastSequence(state.getLastSequence() + 1);
+        state.setBalance(balance);
+        return AccountActivity.builder()
+                .accountId(state.getAccountId())
+                .sequence(state.getLastSequence())
+                .journalEntryId(journalEntryId)
+                .transactionId(transactionId)
+                .type(type)
+                .amount(amount)
+                .currency(currency)
+                .counterpartyAccountNumber(counterpartyAccountNumber)
+                .fxRate(fxRate)
+                .runningBalance(balance)
+                .description(description)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    /**
+     * The data of an entry that the journal does not hold.
+     */
+    private record EntryContext(String currency, String counterpartyAccountNumber) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.persistence.IdBlockAllocator;
+import com.omnilife.modules.finance.exception.AccountNumberSpaceExhaustedException;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates unique account numbers of the form 2026XXXXXX without probing the database per number.
+ *
+ * Each application instance reserves blocks of a shared counter from the IdBlockAllocator, so two
+ * instances never hand out the same counter value. A counter value is turned into the 6-digit
+ * suffix by a keyed permutation of [0, 1,000,000): consecutive accounts get unrelated-looking
+ * numbers, and distinct counter values always give distinct numbers.
+ *
+ * Capacity: the counter runs from 0 to 999,999, so at most 1,000,000 numbers can be allocated.
+ * Accounts created with the earlier random generator occupy numbers the permutation will also
+ * produce; these are detected with one query per reserved block and skipped, which costs one
+ * counter value each, as do the unused numbers of a block when the instance shuts down. Once the
+ * counter is used up, allocation fails with AccountNumberSpaceExhaustedException. A warning is
+ * logged for every further percent of the space used beyond the configured threshold.
+ *
+ * Allocation is serialized with a lock rather than a monitor: reserving a block queries the
+ * database, and a virtual thread blocked inside a synchronized method would pin its carrier thread.
+ */
+@Service
+public class AccountNumberAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNumberAllocator.class);
+
+    static final String PREFIX = "2026";
+    static final int CAPACITY = 1_000_000;
+
+    private static final String SEQUENCE = "account_numbers";
+    private static final int HALF_BITS = 10;
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final IdBlockAllocator idBlockAllocator;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final int blockSize;
+    private final long permutationKey;
+    private final double warningThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<String> available = new ArrayDeque<>();
+    private long reservedUpTo;
+    private long lastWarnedPercent;
+
+    public AccountNumberAllocator(IdBlockAllocator idBlockAllocator,
+                                  LedgerAccountRepository ledgerAccountRepository,
+                                  @Value("${omnilife.finance.account-number.block-size:100}") int blockSize,
+                                  @Value("${omnilife.finance.account-number.permutation-key:7318349129}") long permutationKey,
+                                  @Value("${omnilife.finance.account-number.warning-threshold:0.8}") double warningThreshold) {
+        this.idBlockAllocator = idBlockAllocator;
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.blockSize = blockSize;
+        this.permutationKey = permutationKey;
+        this.warningThreshold = warningThreshold;
+    }
+
+    /**
+     * Returns a new, unused account number.
+     *
+     * @return the account number
+     * @throws AccountNumberSpaceExhaustedException if every account number has been allocated
+     */
+    public String allocate() {
+        lock.lock();
+        try {
+            while (available.isEmpty()) {
+                reserveBlock();
+            }
+            return available.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the given number of new, unused account numbers.
+     *
+     * @param count the number of account numbers
+     * @return the account numbers
+     * @throws AccountNumberSpaceExhaustedException if fewer account numbers are left
+     */
+    public List<String> allocate(int count) {
+        lock.lock();
+        try {
+            List<String> accountNumbers = new ArrayList<>(count);
+            while (accountNumbers.size() < count) {
+                while (available.isEmpty()) {
+                    reserveBlock();
+                }
+                accountNumbers.add(available.poll());
+            }
+            return accountNumbers;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves the next block of counter values and queues the account numbers that are not taken yet.
+     */
+    private void reserveBlock() {
+        long start = idBlockAllocator.reserveBlock(SEQUENCE, blockSize);
+        if (start >= CAPACITY) {
+            throw new AccountNumberSpaceExhaustedException(
+                    "All " + CAPACITY + " account numbers with prefix " + PREFIX + " have been allocated");
+        }
+        long end = Math.min(start + blockSize, CAPACITY);
+
+        List<String> candidates = new ArrayList<>((int) (end - start));
+        for (long counter = start; counter < end; counter++) {
+            candidates.add(PREFIX + String.format("%06d", permute((int) counter)));
+        }
+
+        // Skip numbers already taken by accounts created before this allocator existed
+        Set<String> taken = new HashSet<>(ledgerAccountRepository.findExistingAccountNumbers(candidates));
+        for (String candidate : candidates) {
+            if (!taken.contains(candidate)) {
+                available.add(candidate);
+            }
+        }
+
+        reservedUpTo = end;
+        long usedPercent = end * 100 / CAPACITY;
+        if (end >= CAPACITY * warningThreshold && usedPercent > lastWarnedPercent) {
+            lastWarnedPercent = usedPercent;
+            log.warn("Account number space is {}% used: {} of {} numbers reserved", usedPercent, end, CAPACITY);
+        }
+    }
+
+    /**
+     * Returns the number of counter values not yet reserved by this instance's view of the counter.
+     *
+     * @return the remaining capacity, as last seen by this instance
+     */
+    public long getRemainingCapacity() {
+        lock.lock();
+        try {
+            return CAPACITY - reservedUpTo + available.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Maps a counter value to a 6-digit suffix with a keyed permutation of [0, CAPACITY).
+     * A 4-round Feistel network permutes the 20-bit values [0, 2^20); values that land outside the
+     * range are encrypted again (cycle walking) until they fall inside it, which keeps the mapping
+     * a bijection on [0, CAPACITY).
+     */
+    int permute(int counter) {
+        int value = counter;
+        do {
+            value = feistel(value);
+        } while (value >= CAPACITY);
+        return value;
+    }
+
+    private int feistel(int value) {
+        int left = value >>> HALF_BITS;
+        int right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ roundFunction(round, right);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private int roundFunction(int round, int half) {
+        // SplitMix64 finalizer over the key, round and input half
+        long z = permutationKey + (round + 1) * 0x9E3779B97F4A7C15L + half;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) z & HALF_MASK;
+    }
+}
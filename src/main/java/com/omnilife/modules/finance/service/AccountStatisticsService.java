@@ -0,0 +1,150 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountStatistics;
+import com.omnilife.modules.finance.dto.DailyRollupRow;
+import com.omnilife.modules.finance.dto.PeriodStatistics;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.repository.AccountActivityStateRepository;
+import com.omnilife.modules.finance.repository.AccountDailyRollupRepository;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Answers inflow and outflow statistics of an account over a date range from its daily rollups.
+ *
+ * A range costs one index range scan of at most one row per day, regardless of the number of
+ * journal entries behind it; months are summed from their days. The rollups are maintained with
+ * the account activity read model and lag the journal by the same moment. For accounts that have
+ * not been seeded yet, the days are aggregated from the journal and the archive instead.
+ */
+@Service
+public class AccountStatisticsService {
+
+    /**
+     * Granularity of the periods of a statistics response.
+     */
+    public enum Granularity {
+        DAY,
+        MONTH
+    }
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final AccountActivityStateRepository activityStateRepository;
+    private final AccountDailyRollupRepository rollupRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final long maxDays;
+
+    public AccountStatisticsService(LedgerAccountRepository ledgerAccountRepository,
+                                    AccountActivityStateRepository activityStateRepository,
+                                    AccountDailyRollupRepository rollupRepository,
+                                    JournalEntryRepository journalEntryRepository,
+                                    ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                    @Value("${omnilife.finance.statistics.max-days:3660}") long maxDays) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.activityStateRepository = activityStateRepository;
+        this.rollupRepository = rollupRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Computes the inflow, outflow and entry counts of an account between two days, inclusive,
+     * in total and per day or month. Days are those of the journal entry timestamps.
+     *
+     * @param id          the wallet ID
+     * @param from        the first day
+     * @param to          the last day, inclusive
+     * @param granularity the period of the returned breakdown
+     * @return the AccountStatistics
+     * @throws AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if from is after to or the range exceeds the configured maximum
+     */
+    @Transactional(readOnly = true)
+    public AccountStatistics getStatistics(Long id, LocalDate from, LocalDate to, Granularity granularity) {
+        // Validation: Check the range
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("Statistics range exceeds the maximum of " + maxDays + " days");
+        }
+
+        LedgerAccount account = ledgerAccountRepository.findById(id)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
+
+        List<DailyRollupRow> days = activityStateRepository.existsById(id)
+                ? rollupRepository.findRows(id, from, to)
+                : aggregateJournal(account, from, to);
+
+        // Execution: Sum the days per period and in total
+        Map<String, Totals> periods = new TreeMap<>();
+        Totals totals = new Totals();
+        for (DailyRollupRow day : days) {
+            String period = granularity == Granularity.MONTH
+                    ? YearMonth.from(day.date()).toString()
+                    : day.date().toString();
+            periods.computeIfAbsent(period, p -> new Totals()).add(day);
+            totals.add(day);
+        }
+        List<PeriodStatistics> breakdown = new ArrayList<>(periods.size());
+        periods.forEach((period, periodTotals) -> breakdown.add(periodTotals.toStatistics(period)));
+
+        return new AccountStatistics(account.getAccountNumber(), account.getCurrency(), from, to,
+                granularity.name().toLowerCase(), totals.toStatistics(null), breakdown);
+    }
+
+    /**
+     * Aggregates the days of an unseeded account from the archive and the journal. An entry is in
+     * exactly one of the two, but a day may have entries in both.
+     */
+    private List<DailyRollupRow> aggregateJournal(LedgerAccount account, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<LocalDate, Totals> days = new TreeMap<>();
+        for (DailyRollupRow row : archivedJournalEntryRepository.findDailyRollupRows(account, start, end)) {
+            days.computeIfAbsent(row.date(), d -> new Totals()).add(row);
+        }
+        for (DailyRollupRow row : journalEntryRepository.findDailyRollupRows(account, start, end)) {
+            days.computeIfAbsent(row.date(), d -> new Totals()).add(row);
+        }
+        List<DailyRollupRow> rows = new ArrayList<>(days.size());
+        days.forEach((date, dayTotals) -> rows.add(new DailyRollupRow(date, dayTotals.inflow, dayTotals.outflow,
+                dayTotals.creditCount, dayTotals.debitCount)));
+        return rows;
+    }
+
+    private static final class Totals {
+        private BigDecimal inflow = BigDecimal.ZERO.setScale(Money.SCALE);
+        private BigDecimal outflow = BigDecimal.ZERO.setScale(Money.SCALE);
+        private long creditCount;
+        private long debitCount;
+
+        void add(DailyRollupRow row) {
+            inflow = inflow.add(row.inflow());
+            outflow = outflow.add(row.outflow());
+            creditCount += row.creditCount();
+            debitCount += row.debitCount();
+        }
+
+        PeriodStatistics toStatistics(String period) {
+            return new PeriodStatistics(period, inflow, outflow, inflow.subtract(outflow), creditCount, debitCount);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.omnilife.modules.finance.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in an account's activity read model: the sequence number of the last row returned.
+ * Like HistoryCursor, clients receive it as an opaque URL-safe token; the prefix keeps the two
+ * kinds of token apart, so a token of one is rejected by the other instead of being misread.
+ */
+record ActivityCursor(long sequence) {
+
+    private static final String PREFIX = "seq:";
+
+    /**
+     * Returns the token form of this cursor.
+     */
+    String encode() {
+        String raw = PREFIX + sequence;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token created by encode().
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static ActivityCursor decode(String token) {
+        // NumberFormatException and Base64 errors are IllegalArgumentExceptions already
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (!raw.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        return new ActivityCursor(Long.parseLong(raw.substring(PREFIX.length())));
+    }
+}
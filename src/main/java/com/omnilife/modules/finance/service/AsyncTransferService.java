@@ -0,0 +1,295 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.persistence.TimeOrderedUuids;
+import com.omnilife.modules.finance.domain.AsyncTransfer;
+import com.omnilife.modules.finance.domain.AsyncTransferStatus;
+import com.omnilife.modules.finance.dto.AccountCurrency;
+import com.omnilife.modules.finance.dto.AsyncTransferView;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.exception.TransferConflictException;
+import com.omnilife.modules.finance.exception.TransferNotFoundException;
+import com.omnilife.modules.finance.exception.TransferQueueFullException;
+import com.omnilife.modules.finance.repository.AsyncTransferRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts transfers for asynchronous execution and reports their status.
+ *
+ * A submitted transfer is validated, recorded as PENDING and queued, and the caller gets its ID
+ * back without waiting for any account lock. Transfers run on virtual threads, so a transfer
+ * waiting for a lock or a connection costs no platform thread. Transfers from the same account
+ * run one after another in submission order, which also keeps them from contending for that
+ * account's row lock; transfers from different accounts run concurrently, up to the configured
+ * concurrency, which must stay below the connection pool size. The number of queued transfers
+ * per instance is bounded; beyond it, submissions are rejected.
+ *
+ * The transfer ID becomes the transaction ID of the transfer's journal entries. A transfer is
+ * claimed right before it runs; if the process dies or the transfer fails unexpectedly, it stays
+ * PENDING, and once its claim has expired, the recovery job checks the journal for its entries:
+ * if the transfer was written it is marked COMPLETED, otherwise it is queued again. Every claim
+ * increments the transfer's attempt count and only succeeds if the count is unchanged, so a
+ * transfer queued twice, or by two instances, is executed once. The claim lease must therefore
+ * exceed the longest time a transfer can take to reach the journal. Transfers recovered this way
+ * may run out of order with respect to later submissions from the same account.
+ */
+@Service
+public class AsyncTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    private static final int RECOVERY_BATCH_SIZE = 100;
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final WalletService walletService;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final FxRateService fxRateService;
+    private final JournalEntryRepository journalEntryRepository;
+    private final AsyncTransferRepository asyncTransferRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Void>> accountQueues = new ConcurrentHashMap<>();
+    private final Set<UUID> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Semaphore queuePermits;
+    private final Semaphore runPermits;
+    private final long leaseMillis;
+    private final long retentionMillis;
+
+    public AsyncTransferService(WalletService walletService,
+                                LedgerAccountRepository ledgerAccountRepository,
+                                FxRateService fxRateService,
+                                JournalEntryRepository journalEntryRepository,
+                                AsyncTransferRepository asyncTransferRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${omnilife.finance.async-transfer.queue-capacity:10000}") int queueCapacity,
+                                @Value("${omnilife.finance.async-transfer.max-concurrency:8}") int maxConcurrency,
+                                @Value("${omnilife.finance.async-transfer.lease-ms:60000}") long leaseMillis,
+                                @Value("${omnilife.finance.async-transfer.retention-ms:604800000}") long retentionMillis) {
+        this.walletService = walletService;
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.fxRateService = fxRateService;
+        this.journalEntryRepository = journalEntryRepository;
+        this.asyncTransferRepository = asyncTransferRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queuePermits = new Semaphore(queueCapacity);
+        this.runPermits = new Semaphore(maxConcurrency);
+        this.leaseMillis = leaseMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Validates a transfer and queues it for execution.
+     *
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer
+     * @return the accepted transfer, PENDING
+     * @throws IllegalArgumentException    if the amount is not positive or has more than two decimal places
+     * @throws AccountNotFoundException    if either account is not found
+     * @throws FxRateNotFoundException     if the currencies differ and no exchange rate is configured
+     * @throws TransferQueueFullException if too many transfers are queued
+     */
+    public AsyncTransferView submit(String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        // Validation: Check if amount is positive with at most two decimal places, both accounts exist
+        // and their currencies can be converted
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be greater than zero");
+        }
+        Money.toMinorUnits(amount);
+        Map<String, String> currencies = ledgerAccountRepository.findCurrencies(List.of(fromAccountNum, toAccountNum))
+                .stream()
+                .collect(Collectors.toMap(AccountCurrency::accountNumber, AccountCurrency::currency, (a, b) -> a));
+        if (!currencies.containsKey(fromAccountNum)) {
+            throw new AccountNotFoundException("From account not found: " + fromAccountNum);
+        }
+        if (!currencies.containsKey(toAccountNum)) {
+            throw new AccountNotFoundException("To account not found: " + toAccountNum);
+        }
+        fxRateService.rate(currencies.get(fromAccountNum), currencies.get(toAccountNum));
+
+        if (!queuePermits.tryAcquire()) {
+            throw new TransferQueueFullException();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            AsyncTransfer transfer = asyncTransferRepository.save(AsyncTransfer.builder()
+                    .id(TimeOrderedUuids.next())
+                    .fromAccountNumber(fromAccountNum)
+                    .toAccountNumber(toAccountNum)
+                    .amount(amount)
+                    .status(AsyncTransferStatus.PENDING)
+                    .attempts(0)
+                    .createdAt(now)
+                    .claimedAt(now)
+                    .build());
+            enqueue(transfer);
+            return toView(transfer);
+        } catch (RuntimeException e) {
+            queuePermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current state of a transfer.
+     *
+     * @param transferId the transfer ID
+     * @return the transfer
+     * @throws TransferNotFoundException if there is no such transfer, or it has been purged
+     */
+    public AsyncTransferView getTransfer(UUID transferId) {
+        return asyncTransferRepository.findById(transferId)
+                .map(AsyncTransferService::toView)
+                .orElseThrow(() -> new TransferNotFoundException("Transfer not found: " + transferId));
+    }
+
+    /**
+     * Resolves PENDING transfers whose claim has expired: marks those found in the journal as
+     * COMPLETED and queues the others again.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.async-transfer.recovery-interval-ms:30000}",
+            initialDelayString = "${omnilife.finance.async-transfer.recovery-interval-ms:30000}")
+    public void recoverExpiredTransfers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(leaseMillis));
+        List<AsyncTransfer> expired = asyncTransferRepository.findByStatusAndClaimedAtBeforeOrderByClaimedAt(
+                AsyncTransferStatus.PENDING, cutoff, Limit.of(RECOVERY_BATCH_SIZE));
+        for (AsyncTransfer transfer : expired) {
+            if (!journalEntryRepository.findByTransactionId(transfer.getId()).isEmpty()) {
+                finish(transfer.getId(), AsyncTransferStatus.COMPLETED, null);
+                continue;
+            }
+            if (queuedIds.contains(transfer.getId())) {
+                // Still waiting in this instance's queue
+                continue;
+            }
+            if (!queuePermits.tryAcquire()) {
+                return;
+            }
+            log.info("Re-queueing async transfer {} after its claim expired", transfer.getId());
+            enqueue(transfer);
+        }
+    }
+
+    /**
+     * Deletes the finished transfers that are older than the retention.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.async-transfer.purge-interval-ms:3600000}")
+    public void purgeFinishedTransfers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMillis));
+        Integer purged = transactionTemplate.execute(status -> asyncTransferRepository.deleteFinishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} finished async transfers", purged);
+        }
+    }
+
+    /**
+     * Stops taking queued transfers and waits for the running ones. Transfers still queued stay
+     * PENDING and are picked up by the recovery job.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Async transfers still running after {} seconds at shutdown", SHUTDOWN_WAIT_SECONDS);
+        }
+    }
+
+    /**
+     * Appends a transfer to the queue of its from-account. The caller holds a queue permit, which
+     * is released once the transfer has run.
+     */
+    private void enqueue(AsyncTransfer transfer) {
+        String accountNumber = transfer.getFromAccountNumber();
+        queuedIds.add(transfer.getId());
+        CompletableFuture<Void> tail = accountQueues.compute(accountNumber, (key, previous) ->
+                (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                        .thenRunAsync(() -> run(transfer), executor));
+        tail.whenComplete((result, error) -> {
+            // Drop the account's queue once its last transfer has run, unless another one was appended
+            accountQueues.remove(accountNumber, tail);
+            if (error != null) {
+                // Not run, because the executor was shut down; the transfer stays PENDING
+                queuedIds.remove(transfer.getId());
+                queuePermits.release();
+            }
+        });
+    }
+
+    /**
+     * Claims and executes a queued transfer and records its outcome.
+     * Failures that certainly left no trace in the ledger mark it FAILED. Any other failure, such
+     * as a timeout, leaves it PENDING until the lease expires and the journal shows whether the
+     * transfer happened.
+     */
+    private void run(AsyncTransfer transfer) {
+        UUID transferId = transfer.getId();
+        try {
+            runPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queuedIds.remove(transferId);
+            queuePermits.release();
+            return;
+        }
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                    asyncTransferRepository.claim(transferId, transfer.getAttempts(), LocalDateTime.now()));
+            if (claimed == null || claimed == 0) {
+                // Executed, or claimed by another instance, since it was queued
+                return;
+            }
+            try {
+                walletService.transferFunds(transferId, transfer.getFromAccountNumber(),
+                        transfer.getToAccountNumber(), transfer.getAmount());
+            } catch (IllegalArgumentException | AccountNotFoundException | InsufficientFundsException
+                     | FxRateNotFoundException | TransferConflictException | UnsupportedOperationException e) {
+                finish(transferId, AsyncTransferStatus.FAILED, e.getMessage());
+                return;
+            }
+            finish(transferId, AsyncTransferStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Async transfer {} failed, leaving it to recovery", transferId, e);
+        } finally {
+            runPermits.release();
+            queuedIds.remove(transferId);
+            queuePermits.release();
+        }
+    }
+
+    private void finish(UUID transferId, AsyncTransferStatus status, String failureReason) {
+        transactionTemplate.executeWithoutResult(s ->
+                asyncTransferRepository.finish(transferId, status, failureReason, LocalDateTime.now()));
+    }
+
+    private static AsyncTransferView toView(AsyncTransfer transfer) {
+        return new AsyncTransferView(transfer.getId(), transfer.getFromAccountNumber(), transfer.getToAccountNumber(),
+                transfer.getAmount(), transfer.getStatus(), transfer.getFailureReason(), transfer.getCreatedAt(),
+                transfer.getCompletedAt());
+    }
+}
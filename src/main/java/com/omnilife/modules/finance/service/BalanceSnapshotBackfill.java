@@ -0,0 +1,216 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.BalanceSnapshot;
+import com.omnilife.modules.finance.domain.BalanceSnapshotRun;
+import com.omnilife.modules.finance.dto.AccountBalanceDelta;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.BalanceSnapshotRepository;
+import com.omnilife.modules.finance.repository.BalanceSnapshotRunRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Backfills balance snapshots for the time before the first run of BalanceSnapshotService.
+ *
+ * The first run snapshots every account from its whole history at a single boundary, so until
+ * this job is done, a balance as of an earlier time sums every entry of the account up to that
+ * time. The job walks boundaries one step apart, multiples of the step like the regular
+ * boundaries, backwards from the earliest completed run to the oldest archived or journal entry.
+ * Each boundary b gets a snapshot for every account with entries between b and the boundary
+ * after it: the account's earliest later snapshot minus those entries. That later snapshot is
+ * either the one at the boundary after b or, for an account without entries in between, a later
+ * one with the same balance. A balance as of a time before the first run then starts from the
+ * snapshot at the start of its window and adds the entries of at most one step.
+ *
+ * Accounts are read in chunks, one chunk per transaction, from both journal_entries and its
+ * archive. A boundary is recorded as a BalanceSnapshotRun once all its accounts have a snapshot;
+ * the earliest run is where the job continues, and a boundary interrupted by a crash is redone,
+ * skipping the accounts it had already snapshotted. Each run stops after the configured time.
+ * Once the oldest entry is passed, the job stops for the lifetime of the instance.
+ */
+@Component
+public class BalanceSnapshotBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotBackfill.class);
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final BalanceSnapshotRunRepository runRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long stepMillis;
+    private final int chunkSize;
+    private final long maxRunMillis;
+    private volatile boolean complete;
+
+    public BalanceSnapshotBackfill(LedgerAccountRepository ledgerAccountRepository,
+                                   JournalEntryRepository journalEntryRepository,
+                                   ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                   BalanceSnapshotRepository snapshotRepository,
+                                   BalanceSnapshotRunRepository runRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${omnilife.finance.snapshot-backfill.step-ms:86400000}") long stepMillis,
+                                   @Value("${omnilife.finance.snapshot-backfill.chunk-size:1000}") int chunkSize,
+                                   @Value("${omnilife.finance.snapshot-backfill.max-run-ms:5000}") long maxRunMillis) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.runRepository = runRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stepMillis = stepMillis;
+        this.chunkSize = chunkSize;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    /**
+     * Snapshots earlier boundaries until the oldest entry is passed or the run time is used up.
+     * Waits for the first run of BalanceSnapshotService.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.snapshot-backfill.interval-ms:60000}",
+            initialDelayString = "${omnilife.finance.snapshot-backfill.interval-ms:60000}")
+    public void backfill() {
+        if (complete) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        try {
+            LocalDateTime oldest = oldestEntry();
+            while (System.currentTimeMillis() < deadline) {
+                LocalDateTime earliestRun = runRepository.findTopByOrderByAsOfAsc()
+                        .map(BalanceSnapshotRun::getAsOf)
+                        .orElse(null);
+                if (earliestRun == null) {
+                    return;
+                }
+                if (oldest == null || oldest.isAfter(earliestRun)) {
+                    complete = true;
+                    log.info("Balance snapshots backfilled up to the oldest journal entry");
+                    return;
+                }
+                LocalDateTime boundary = previousBoundary(earliestRun);
+                long count = snapshotWindow(boundary, earliestRun);
+                runRepository.save(new BalanceSnapshotRun(boundary, count, LocalDateTime.now()));
+                log.debug("Backfilled {} balance snapshots as of {}", count, boundary);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.info("Balance snapshots are being backfilled by another instance");
+        } catch (RuntimeException e) {
+            log.error("Failed to backfill balance snapshots, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot at from for every account with archived or journal entries after from
+     * and up to to, one chunk of accounts per transaction.
+     *
+     * @return the number of snapshots written
+     */
+    private long snapshotWindow(LocalDateTime from, LocalDateTime to) {
+        long count = 0;
+        long afterAccountId = 0;
+        while (true) {
+            List<AccountBalanceDelta> journal = journalEntryRepository.findBalanceDeltasBetween(
+                    from, to, afterAccountId, Limit.of(chunkSize));
+            List<AccountBalanceDelta> archived = archivedJournalEntryRepository.findBalanceDeltasBetween(
+                    from, to, afterAccountId, Limit.of(chunkSize));
+            // A full chunk may stop short of the other one; accounts past its last ID come next time
+            long upTo = Long.MAX_VALUE;
+            if (journal.size() == chunkSize) {
+                upTo = journal.get(journal.size() - 1).accountId();
+            }
+            if (archived.size() == chunkSize) {
+                upTo = Math.min(upTo, archived.get(archived.size() - 1).accountId());
+            }
+            Map<Long, BigDecimal> deltas = new TreeMap<>();
+            for (AccountBalanceDelta delta : journal) {
+                if (delta.accountId() <= upTo) {
+                    deltas.merge(delta.accountId(), delta.delta(), BigDecimal::add);
+                }
+            }
+            for (AccountBalanceDelta delta : archived) {
+                if (delta.accountId() <= upTo) {
+                    deltas.merge(delta.accountId(), delta.delta(), BigDecimal::add);
+                }
+            }
+            if (!deltas.isEmpty()) {
+                Integer written = transactionTemplate.execute(status -> snapshotChunk(deltas, from));
+                count += written != null ? written : 0;
+            }
+            if (upTo == Long.MAX_VALUE) {
+                return count;
+            }
+            afterAccountId = upTo;
+        }
+    }
+
+    private int snapshotChunk(Map<Long, BigDecimal> deltas, LocalDateTime boundary) {
+        List<Long> accountIds = new ArrayList<>(deltas.keySet());
+
+        // Accounts snapshotted by an earlier, interrupted run at the same boundary are already done
+        Set<Long> done = new HashSet<>(snapshotRepository.findAccountIdsWithSnapshotAt(accountIds, boundary));
+        Map<Long, BigDecimal> laterBalances = new HashMap<>();
+        for (BalanceSnapshot snapshot : snapshotRepository.findEarliestAfterByAccountIds(accountIds, boundary)) {
+            laterBalances.put(snapshot.getAccount().getId(), snapshot.getBalance());
+        }
+
+        List<BalanceSnapshot> snapshots = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, BigDecimal> delta : deltas.entrySet()) {
+            BigDecimal later = laterBalances.get(delta.getKey());
+            if (done.contains(delta.getKey()) || later == null) {
+                // No later snapshot: the entries committed after the first run had passed them
+                continue;
+            }
+            snapshots.add(BalanceSnapshot.builder()
+                    .account(ledgerAccountRepository.getReferenceById(delta.getKey()))
+                    .asOf(boundary)
+                    .balance(later.subtract(delta.getValue()))
+                    .build());
+        }
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    /**
+     * Returns the timestamp of the oldest archived or journal entry, or null if there is none.
+     */
+    private LocalDateTime oldestEntry() {
+        LocalDateTime archived = archivedJournalEntryRepository.findMinTimestamp();
+        LocalDateTime journal = journalEntryRepository.findMinTimestamp();
+        if (archived == null || (journal != null && journal.isBefore(archived))) {
+            return journal;
+        }
+        return archived;
+    }
+
+    /**
+     * Returns the latest multiple of the step before the given time.
+     */
+    private LocalDateTime previousBoundary(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+        long boundary = millis - Math.floorMod(millis, stepMillis);
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(boundary), ZoneId.systemDefault());
+    }
+}
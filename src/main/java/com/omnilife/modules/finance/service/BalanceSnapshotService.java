@@ -0,0 +1,199 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.BalanceSnapshot;
+import com.omnilife.modules.finance.domain.BalanceSnapshotRun;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.dto.AccountBalanceDelta;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.BalanceSnapshotRepository;
+import com.omnilife.modules.finance.repository.BalanceSnapshotRunRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers point-in-time balance queries from periodic balance snapshots.
+ *
+ * A scheduled job takes snapshots at fixed boundaries, multiples of the snapshot interval. For
+ * every account with journal entries since the previous run, it stores the previous snapshot
+ * balance plus the net change of those entries. A balance as of time T is then the latest
+ * snapshot at or before T plus the entries between that snapshot and T, and as every account
+ * with activity gets a snapshot at each boundary, those entries span at most one interval. The
+ * cost of a query therefore depends on the snapshot interval, not on the age of the account.
+ *
+ * A boundary is only snapshotted once the settle delay has passed after it, so that entries
+ * stamped before the boundary but committed after it, as the sequenced engine's write-behind
+ * does, are included. Runs are recorded when complete; a run interrupted by a crash is redone
+ * by the next one, which skips the accounts it had already snapshotted. Instances sharing the
+ * database pick the same boundaries, and the unique snapshot key lets only one of them write.
+ *
+ * Snapshots only read journal_entries: JournalArchiver does not archive entries the job has not
+ * passed yet. Balance queries also include archived entries, for times before the archive cutoff.
+ *
+ * The first run snapshots each account from its whole history. Times before it are covered by
+ * BalanceSnapshotBackfill, which works backwards a step at a time; until it has reached a time,
+ * a balance as of that time is computed from every entry of the account up to it, which costs a
+ * scan of the account's history in both the journal and the archive.
+ *
+ * Balances are derived from the journal, so they only reflect balance changes that were
+ * journaled: deposits made before deposits were journaled are not included.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    /**
+     * Lower bound of the first run, before any journal entry.
+     */
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final BalanceSnapshotRunRepository runRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalMillis;
+    private final long settleDelayMillis;
+    private final int chunkSize;
+
+    public BalanceSnapshotService(LedgerAccountRepository ledgerAccountRepository,
+                                  JournalEntryRepository journalEntryRepository,
+                                  ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                  BalanceSnapshotRepository snapshotRepository,
+                                  BalanceSnapshotRunRepository runRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${omnilife.finance.snapshot.interval-ms:3600000}") long intervalMillis,
+                                  @Value("${omnilife.finance.snapshot.settle-delay-ms:60000}") long settleDelayMillis,
+                                  @Value("${omnilife.finance.snapshot.chunk-size:1000}") int chunkSize) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.runRepository = runRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalMillis = intervalMillis;
+        this.settleDelayMillis = settleDelayMillis;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the journal balance of an account as of the given time.
+     *
+     * @param account the LedgerAccount
+     * @param asOf    the point in time
+     * @return the sum of the account's CREDIT minus DEBIT entries up to and including asOf
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(LedgerAccount account, LocalDateTime asOf) {
+        BalanceSnapshot snapshot = snapshotRepository
+                .findFirstByAccountAndAsOfLessThanEqualOrderByAsOfDesc(account, asOf)
+                .orElse(null);
+        BigDecimal base = snapshot != null ? snapshot.getBalance() : BigDecimal.ZERO;
+        LocalDateTime from = snapshot != null ? snapshot.getAsOf() : BEGINNING;
+        return base.add(journalEntryRepository.sumSignedAmountByAccountBetween(account, from, asOf))
+                .add(archivedJournalEntryRepository.sumSignedAmountByAccountBetween(account, from, asOf));
+    }
+
+    /**
+     * Snapshots the latest settled boundary if it has not been snapshotted yet.
+     * Checked periodically; a run only happens once per interval.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.snapshot.check-interval-ms:60000}",
+            initialDelayString = "${omnilife.finance.snapshot.check-interval-ms:60000}")
+    public void takeSnapshots() {
+        LocalDateTime boundary = latestSettledBoundary();
+        LocalDateTime previous = runRepository.findTopByOrderByAsOfDesc()
+                .map(BalanceSnapshotRun::getAsOf)
+                .orElse(BEGINNING);
+        if (!boundary.isAfter(previous)) {
+            return;
+        }
+
+        try {
+            long count = snapshotWindow(previous, boundary);
+            runRepository.save(new BalanceSnapshotRun(boundary, count, LocalDateTime.now()));
+            if (count > 0) {
+                log.info("Took {} balance snapshots as of {}", count, boundary);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.info("Balance snapshots as of {} are being taken by another instance", boundary);
+        }
+    }
+
+    /**
+     * Writes a snapshot at the boundary for every account with entries after previous, one chunk
+     * of accounts per transaction.
+     *
+     * @return the number of snapshots written
+     */
+    private long snapshotWindow(LocalDateTime previous, LocalDateTime boundary) {
+        long count = 0;
+        long afterAccountId = 0;
+        while (true) {
+            List<AccountBalanceDelta> deltas = journalEntryRepository.findBalanceDeltasBetween(
+                    previous, boundary, afterAccountId, Limit.of(chunkSize));
+            if (deltas.isEmpty()) {
+                return count;
+            }
+            Integer written = transactionTemplate.execute(status -> snapshotChunk(deltas, previous, boundary));
+            count += written != null ? written : 0;
+            afterAccountId = deltas.get(deltas.size() - 1).accountId();
+        }
+    }
+
+    private int snapshotChunk(List<AccountBalanceDelta> deltas, LocalDateTime previous, LocalDateTime boundary) {
+        List<Long> accountIds = deltas.stream().map(AccountBalanceDelta::accountId).toList();
+
+        // Accounts snapshotted by an earlier, interrupted run at the same boundary are already done
+        Set<Long> done = new HashSet<>(snapshotRepository.findAccountIdsWithSnapshotAt(accountIds, boundary));
+        Map<Long, BigDecimal> previousBalances = new HashMap<>();
+        for (BalanceSnapshot snapshot : snapshotRepository.findLatestByAccountIds(accountIds, previous)) {
+            previousBalances.put(snapshot.getAccount().getId(), snapshot.getBalance());
+        }
+
+        List<BalanceSnapshot> snapshots = new ArrayList<>(deltas.size());
+        for (AccountBalanceDelta delta : deltas) {
+            if (done.contains(delta.accountId())) {
+                continue;
+            }
+            snapshots.add(BalanceSnapshot.builder()
+                    .account(ledgerAccountRepository.getReferenceById(delta.accountId()))
+                    .asOf(boundary)
+                    .balance(previousBalances.getOrDefault(delta.accountId(), BigDecimal.ZERO).add(delta.delta()))
+                    .build());
+        }
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    /**
+     * Returns the latest interval boundary that lies at least the settle delay in the past.
+     */
+    private LocalDateTime latestSettledBoundary() {
+        long settled = System.currentTimeMillis() - settleDelayMillis;
+        long boundary = settled - Math.floorMod(settled, intervalMillis);
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(boundary), ZoneId.systemDefault());
+    }
+}
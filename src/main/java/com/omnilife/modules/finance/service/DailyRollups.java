@@ -0,0 +1,61 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.AccountDailyRollup;
+import com.omnilife.modules.finance.domain.JournalEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Accumulates journal entries into AccountDailyRollup rows, one per account and day, so that a
+ * projection transaction or a seeding run touches each rollup row once however many entries fall
+ * on its day.
+ */
+final class DailyRollups {
+
+    private final Map<Key, AccountDailyRollup> rollups = new LinkedHashMap<>();
+    private final BiFunction<Long, LocalDate, AccountDailyRollup> existing;
+
+    /**
+     * @param existing returns the stored rollup of an account and day, or null if there is none
+     */
+    DailyRollups(BiFunction<Long, LocalDate, AccountDailyRollup> existing) {
+        this.existing = existing;
+    }
+
+    /**
+     * Adds an entry to the rollup of its account and day.
+     */
+    void add(Long accountId, LocalDate date, JournalEntryType type, BigDecimal amount) {
+        AccountDailyRollup rollup = rollups.computeIfAbsent(new Key(accountId, date), key -> {
+            AccountDailyRollup stored = existing.apply(accountId, date);
+            return stored != null ? stored : AccountDailyRollup.builder()
+                    .accountId(accountId)
+                    .activityDate(date)
+                    .inflow(BigDecimal.ZERO.setScale(Money.SCALE))
+                    .outflow(BigDecimal.ZERO.setScale(Money.SCALE))
+                    .build();
+        });
+        if (type == JournalEntryType.CREDIT) {
+            rollup.setInflow(rollup.getInflow().add(amount));
+            rollup.setCreditCount(rollup.getCreditCount() + 1);
+        } else {
+            rollup.setOutflow(rollup.getOutflow().add(amount));
+            rollup.setDebitCount(rollup.getDebitCount() + 1);
+        }
+    }
+
+    /**
+     * Returns the new and updated rollups, to be saved by the caller.
+     */
+    Collection<AccountDailyRollup> rollups() {
+        return rollups.values();
+    }
+
+    private record Key(Long accountId, LocalDate date) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.FxRate;
+import com.omnilife.modules.finance.dto.FxRateTable;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.repository.FxRateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class for the exchange rates of cross-currency transfers.
+ *
+ * Transfers never read rates from the database. The fx_rates table is loaded into an immutable
+ * FxRateTable, which a refresh replaces as a whole with a single reference swap, so a transfer
+ * always converts with one consistent set of rates and is never blocked by a refresh. The table is
+ * refreshed on a schedule, and right after a rate is changed through this instance; other
+ * instances see the change with their next scheduled refresh.
+ *
+ * A rate configured for one direction only is also used, inverted, for the other direction.
+ * Converted amounts are rounded half-even to the cent.
+ */
+@Service
+public class FxRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+
+    static final int RATE_SCALE = 8;
+
+    private final FxRateRepository fxRateRepository;
+    private final AtomicReference<FxRateTable> table = new AtomicReference<>(new FxRateTable(Map.of(), null));
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public FxRateService(FxRateRepository fxRateRepository) {
+        this.fxRateRepository = fxRateRepository;
+    }
+
+    /**
+     * Returns the current snapshot of the exchange rates.
+     *
+     * @return the FxRateTable
+     */
+    public FxRateTable getRates() {
+        return table.get();
+    }
+
+    /**
+     * Returns the rate to convert an amount from one currency to another, from the in-memory snapshot.
+     *
+     * @param fromCurrency the currency converted from
+     * @param toCurrency   the currency converted to
+     * @return the rate, or null if the currencies are the same
+     * @throws FxRateNotFoundException if no rate is configured for the currency pair
+     */
+    public BigDecimal rate(String fromCurrency, String toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return null;
+        }
+        BigDecimal rate = table.get().rate(fromCurrency, toCurrency);
+        if (rate == null) {
+            throw new FxRateNotFoundException("No exchange rate from " + fromCurrency + " to " + toCurrency);
+        }
+        return rate;
+    }
+
+    /**
+     * Converts an amount in minor units with a rate returned by rate(), rounding half-even to the cent.
+     *
+     * @param amount the amount in minor units of the source currency
+     * @param rate   the rate, or null if the currencies are the same
+     * @return the amount in minor units of the target currency
+     * @throws IllegalArgumentException if the converted amount rounds to zero
+     */
+    static long convert(long amount, BigDecimal rate) {
+        if (rate == null) {
+            return amount;
+        }
+        long converted = BigDecimal.valueOf(amount).multiply(rate).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        if (converted <= 0) {
+            throw new IllegalArgumentException("Transfer amount " + Money.format(amount) + " is too small to convert");
+        }
+        return converted;
+    }
+
+    /**
+     * Creates or replaces the rate from one currency to another. The in-memory snapshot of this
+     * instance is refreshed once the change is committed.
+     *
+     * @param baseCurrency  the currency converted from
+     * @param quoteCurrency the currency converted to
+     * @param rate          how many units of the quote currency one unit of the base currency buys
+     * @return the saved FxRate
+     * @throws IllegalArgumentException if a currency code is malformed, both currencies are the same,
+     *                                  or the rate is not positive or has more than eight decimal places
+     */
+    @Transactional
+    public FxRate setRate(String baseCurrency, String quoteCurrency, BigDecimal rate) {
+        // Validation: Check currency codes and rate
+        String base = toCurrencyCode(baseCurrency);
+        String quote = toCurrencyCode(quoteCurrency);
+        if (base.equals(quote)) {
+            throw new IllegalArgumentException("Base and quote currency must differ");
+        }
+        if (rate == null || rate.signum() <= 0) {
+            throw new IllegalArgumentException("Rate must be greater than zero");
+        }
+        BigDecimal scaledRate;
+        try {
+            scaledRate = rate.setScale(RATE_SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Rate must have at most " + RATE_SCALE + " decimal places");
+        }
+
+        // Execution: Insert or update the rate
+        FxRate fxRate = fxRateRepository.findByBaseCurrencyAndQuoteCurrency(base, quote)
+                .orElseGet(() -> FxRate.builder().baseCurrency(base).quoteCurrency(quote).build());
+        fxRate.setRate(scaledRate);
+        FxRate saved = fxRateRepository.save(fxRate);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Loads the fx_rates table into a new snapshot and swaps it in.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${omnilife.finance.fx.refresh-interval-ms:60000}",
+            initialDelayString = "${omnilife.finance.fx.refresh-interval-ms:60000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            List<FxRate> fxRates = fxRateRepository.findAll();
+            Map<String, BigDecimal> rates = new HashMap<>();
+            for (FxRate fxRate : fxRates) {
+                rates.put(fxRate.getBaseCurrency() + "/" + fxRate.getQuoteCurrency(), fxRate.getRate());
+            }
+            for (FxRate fxRate : fxRates) {
+                rates.putIfAbsent(fxRate.getQuoteCurrency() + "/" + fxRate.getBaseCurrency(),
+                        BigDecimal.ONE.divide(fxRate.getRate(), RATE_SCALE, RoundingMode.HALF_EVEN));
+            }
+            table.set(new FxRateTable(Map.copyOf(rates), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh exchange rates, keeping the previous snapshot", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static String toCurrencyCode(String currency) {
+        if (currency == null || !currency.matches("[A-Za-z]{3}")) {
+            throw new IllegalArgumentException("Currency must be a three-letter code");
+        }
+        return currency.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.omnilife.modules.finance.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an account's transaction history: the (timestamp, id) of the last entry returned.
+ * Clients receive it as an opaque URL-safe token and must not rely on its contents.
+ */
+record HistoryCursor(LocalDateTime timestamp, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Returns the token form of this cursor.
+     */
+    String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token created by encode().
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            // NumberFormatException and Base64 errors are IllegalArgumentExceptions already
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+    }
+}
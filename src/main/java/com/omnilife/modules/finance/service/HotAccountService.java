@@ -0,0 +1,239 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.AccountBalanceSlot;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.repository.AccountBalanceSlotRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service class for hot accounts, whose balance is split into sub-balance slots.
+ *
+ * Credits to a hot account lock one randomly chosen slot row instead of the account row, so
+ * concurrent credits to the same account mostly proceed in parallel. Debits lock the account row
+ * and all of its slots and draw from the account row first, then from the slots in index order.
+ *
+ * Lock ordering: any transaction locks account rows first (in ascending account number order),
+ * then slot rows (in ascending account number, then slot index order).
+ */
+@Service
+public class HotAccountService {
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final int defaultSlots;
+    private final int maxSlots;
+    private final long refreshIntervalMillis;
+
+    /**
+     * Account numbers known to be hot. Only used to decide whether a credit can skip the account
+     * row lock; a stale view merely makes a credit take the slower locked path, which is still correct.
+     */
+    private volatile Set<String> hotAccountNumbers = Set.of();
+    private volatile long hotAccountNumbersLoadedAt;
+
+    public HotAccountService(LedgerAccountRepository ledgerAccountRepository,
+                             AccountBalanceSlotRepository slotRepository,
+                             @Value("${omnilife.finance.hot-account.default-slots:16}") int defaultSlots,
+                             @Value("${omnilife.finance.hot-account.max-slots:256}") int maxSlots,
+                             @Value("${omnilife.finance.hot-account.refresh-interval-ms:30000}") long refreshIntervalMillis) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.slotRepository = slotRepository;
+        this.defaultSlots = defaultSlots;
+        this.maxSlots = maxSlots;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Turns an account into a hot account with the given number of sub-balance slots, or adds
+     * slots to an account that is already hot. The existing balance stays on the account row.
+     *
+     * @param accountNumber the account number
+     * @param slotCount     the desired number of slots, or null for the configured default
+     * @return the updated LedgerAccount
+     * @throws AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if the slot count is out of range or lower than the current one
+     */
+    @Transactional
+    public LedgerAccount enableHotAccount(String accountNumber, Integer slotCount) {
+        int slots = slotCount != null ? slotCount : defaultSlots;
+        if (slots < 1 || slots > maxSlots) {
+            throw new IllegalArgumentException("Slot count must be between 1 and " + maxSlots);
+        }
+
+        LedgerAccount account = ledgerAccountRepository.findByAccountNumberWithLock(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        if (slots < account.getBalanceSlots()) {
+            throw new IllegalArgumentException(
+                    "Account already has " + account.getBalanceSlots() + " slots; slot count cannot be reduced");
+        }
+
+        List<AccountBalanceSlot> newSlots = new ArrayList<>();
+        for (int index = account.getBalanceSlots(); index < slots; index++) {
+            newSlots.add(AccountBalanceSlot.builder()
+                    .account(account)
+                    .slotIndex(index)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+        }
+        slotRepository.saveAll(newSlots);
+
+        account.setBalanceSlots(slots);
+        LedgerAccount saved = ledgerAccountRepository.save(account);
+
+        // Only route credits to the slots once the slots are committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markHot(accountNumber);
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Returns whether the account is known to be a hot account, without a database round trip
+     * except for a periodic refresh of the known hot accounts.
+     *
+     * @param accountNumber the account number
+     * @return true if the account is known to be hot
+     */
+    public boolean isHotAccount(String accountNumber) {
+        if (System.currentTimeMillis() - hotAccountNumbersLoadedAt > refreshIntervalMillis) {
+            hotAccountNumbers = Set.copyOf(ledgerAccountRepository.findHotAccountNumbers());
+            hotAccountNumbersLoadedAt = System.currentTimeMillis();
+        }
+        return hotAccountNumbers.contains(accountNumber);
+    }
+
+    /**
+     * Returns the total balance of an account: the account row balance plus, for hot accounts,
+     * the sum of its slot balances. Does not lock anything.
+     *
+     * @param account the LedgerAccount
+     * @return the total balance
+     */
+    public BigDecimal getTotalBalance(LedgerAccount account) {
+        if (!account.isHotAccount()) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(slotRepository.sumBalanceByAccount(account));
+    }
+
+    /**
+     * Returns a detached copy of an account carrying its total balance, e.g. to report the balance
+     * of a hot account right after one of its slots was credited. The copy is never persisted.
+     *
+     * @param account the LedgerAccount
+     * @return the copy with the total balance
+     */
+    public LedgerAccount withTotalBalance(LedgerAccount account) {
+        return LedgerAccount.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .name(account.getName())
+                .balance(getTotalBalance(account))
+                .currency(account.getCurrency())
+                .status(account.getStatus())
+                .createdDate(account.getCreatedDate())
+                .balanceSlots(account.getBalanceSlots())
+                .version(account.getVersion())
+                .build();
+    }
+
+    /**
+     * Locks all slots of a hot account, in slot index order.
+     * Must be called within a transaction, after all account rows of that transaction are locked.
+     *
+     * @param account the hot LedgerAccount
+     * @return the locked slots, or an empty list for a regular account
+     */
+    public List<AccountBalanceSlot> lockSlots(LedgerAccount account) {
+        if (!account.isHotAccount()) {
+            return List.of();
+        }
+        return slotRepository.findByAccountWithLock(account);
+    }
+
+    /**
+     * Locks one randomly chosen slot of a hot account.
+     * Must be called within a transaction, after all account rows of that transaction are locked.
+     *
+     * @param account the hot LedgerAccount
+     * @return the locked slot
+     */
+    public AccountBalanceSlot lockRandomSlot(LedgerAccount account) {
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlots());
+        return slotRepository.findByAccountAndSlotIndexWithLock(account, slotIndex)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Missing balance slot " + slotIndex + " for account " + account.getAccountNumber()));
+    }
+
+    /**
+     * Returns the balance available for a debit: the locked account row balance plus the locked slots.
+     *
+     * @param account the locked LedgerAccount
+     * @param slots   the locked slots of the account
+     * @return the available balance in minor units
+     */
+    public long availableBalance(LedgerAccount account, List<AccountBalanceSlot> slots) {
+        long available = Money.toMinorUnits(account.getBalance());
+        for (AccountBalanceSlot slot : slots) {
+            available = Math.addExact(available, Money.toMinorUnits(slot.getBalance()));
+        }
+        return available;
+    }
+
+    /**
+     * Debits an account, drawing from the account row balance first and then from the slots in
+     * index order. The caller must have checked that the available balance covers the amount.
+     *
+     * @param account the locked LedgerAccount
+     * @param slots   the locked slots of the account
+     * @param amount  the amount to debit in minor units
+     */
+    public void debit(LedgerAccount account, List<AccountBalanceSlot> slots, long amount) {
+        long remaining = amount;
+        long accountBalance = Money.toMinorUnits(account.getBalance());
+        long fromAccount = Math.min(accountBalance, remaining);
+        if (fromAccount != 0) {
+            account.setBalance(Money.toBigDecimal(accountBalance - fromAccount));
+            remaining -= fromAccount;
+        }
+
+        for (AccountBalanceSlot slot : slots) {
+            if (remaining == 0) {
+                break;
+            }
+            long slotBalance = Money.toMinorUnits(slot.getBalance());
+            long fromSlot = Math.min(slotBalance, remaining);
+            if (fromSlot != 0) {
+                slot.setBalance(Money.toBigDecimal(slotBalance - fromSlot));
+                remaining -= fromSlot;
+            }
+        }
+
+        if (remaining != 0) {
+            throw new IllegalStateException("Debit of " + Money.format(amount)
+                    + " exceeds the available balance of account " + account.getAccountNumber());
+        }
+    }
+
+    private synchronized void markHot(String accountNumber) {
+        Set<String> updated = new HashSet<>(hotAccountNumbers);
+        updated.add(accountNumber);
+        hotAccountNumbers = Set.copyOf(updated);
+    }
+}
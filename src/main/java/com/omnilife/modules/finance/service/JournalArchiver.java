@@ -0,0 +1,120 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.BalanceSnapshotRun;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.BalanceSnapshotRunRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves journal entries older than the configured age from journal_entries to
+ * journal_entries_archive, so the journal and its indexes only grow with recent activity.
+ *
+ * Entries are moved oldest first, one batch per transaction: the batch is locked, copied to the
+ * archive and deleted from the journal, so an entry is always in exactly one of the two tables.
+ * As archiving follows timestamp order, the archived entries of an account are older than the
+ * ones still in the journal, which is what lets history queries read the journal first and only
+ * continue in the archive when it runs out. Each run stops after the configured time to leave
+ * the scheduler to other jobs.
+ *
+ * Queries that need complete history, such as history pages, exports, point-in-time balances and
+ * reconciliation, combine both tables. Lookups by transaction ID, used to recover idempotency keys
+ * and asynchronous transfers, only read the journal, so the minimum age must exceed the retention
+ * of both. Entries are also only archived once the balance snapshot job has passed them, as it
+ * reads new entries from the journal alone, and once JournalTransactionIdBackfill has converted
+ * every entry, as the archive only has the binary transaction ID.
+ */
+@Component
+public class JournalArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalArchiver.class);
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final BalanceSnapshotRunRepository snapshotRunRepository;
+    private final JournalTransactionIdBackfill transactionIdBackfill;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int batchSize;
+    private final long maxRunMillis;
+
+    public JournalArchiver(JournalEntryRepository journalEntryRepository,
+                           ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                           BalanceSnapshotRunRepository snapshotRunRepository,
+                           JournalTransactionIdBackfill transactionIdBackfill,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${omnilife.finance.journal-archive.min-age-ms:7776000000}") long minAgeMillis,
+                           @Value("${omnilife.finance.journal-archive.batch-size:1000}") int batchSize,
+                           @Value("${omnilife.finance.journal-archive.max-run-ms:5000}") long maxRunMillis) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.snapshotRunRepository = snapshotRunRepository;
+        this.transactionIdBackfill = transactionIdBackfill;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = Duration.ofMillis(minAgeMillis);
+        this.batchSize = batchSize;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    /**
+     * Moves batches of old journal entries to the archive until none is left or the run time is
+     * used up.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.journal-archive.interval-ms:60000}",
+            initialDelayString = "${omnilife.finance.journal-archive.interval-ms:60000}")
+    public void archive() {
+        if (!transactionIdBackfill.isComplete()) {
+            return;
+        }
+        LocalDateTime snapshotted = snapshotRunRepository.findTopByOrderByAsOfDesc()
+                .map(BalanceSnapshotRun::getAsOf)
+                .orElse(null);
+        if (snapshotted == null) {
+            return;
+        }
+        LocalDateTime minAgeCutoff = LocalDateTime.now().minus(minAge);
+        LocalDateTime cutoff = snapshotted.isBefore(minAgeCutoff) ? snapshotted : minAgeCutoff;
+
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        long moved = 0;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                moved += count != null ? count : 0;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to archive journal entries, retrying on the next run", e);
+        }
+        if (moved > 0) {
+            log.info("Archived {} journal entries older than {}", moved, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = journalEntryRepository.findIdsToArchive(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedJournalEntryRepository.copyFromJournal(ids);
+        int deleted = journalEntryRepository.deleteByIds(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            throw new IllegalStateException("Archived " + copied + " and deleted " + deleted + " of "
+                    + ids.size() + " journal entries");
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.JournalEntryType;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Factory methods for the journal entries written by the transfer paths, so that every engine
+ * records transfers, postings and deposits with the same types and descriptions.
+ */
+final class JournalEntries {
+
+    private static final String TRANSFER_TO = "Transfer to account ";
+    private static final String TRANSFER_FROM = "Transfer from account ";
+
+    private JournalEntries() {
+    }
+
+    /**
+     * Creates the DEBIT entry of a transfer for the account the money leaves, in its currency.
+     * The exchange rate is null unless the transfer converts between currencies.
+     */
+    static JournalEntry transferDebit(UUID transactionId, LedgerAccount account, String toAccountNum,
+                                      BigDecimal amount, BigDecimal fxRate) {
+        return JournalEntry.builder()
+                .transactionId(transactionId)
+                .account(account)
+                .amount(amount)
+                .type(JournalEntryType.DEBIT)
+                .description(TRANSFER_TO + toAccountNum)
+                .fxRate(fxRate)
+                .build();
+    }
+
+    /**
+     * Creates the CREDIT entry of a transfer for the account the money arrives at, in its currency.
+     * The exchange rate is null unless the transfer converts between currencies.
+     */
+    static JournalEntry transferCredit(UUID transactionId, LedgerAccount account, String fromAccountNum,
+                                       BigDecimal amount, BigDecimal fxRate) {
+        return JournalEntry.builder()
+                .transactionId(transactionId)
+                .account(account)
+                .amount(amount)
+                .type(JournalEntryType.CREDIT)
+                .description(TRANSFER_FROM + fromAccountNum)
+                .fxRate(fxRate)
+                .build();
+    }
+
+    /**
+     * Creates the entry of one leg of a multi-leg posting.
+     */
+    static JournalEntry postingLeg(UUID transactionId, LedgerAccount account, JournalEntryType type,
+                                   BigDecimal amount, String description) {
+        return JournalEntry.builder()
+                .transactionId(transactionId)
+                .account(account)
+                .amount(amount)
+                .type(type)
+                .description(description != null && !description.isBlank() ? description : "Posting")
+                .build();
+    }
+
+    /**
+     * Creates the CREDIT entry of a deposit into an account.
+     */
+    static JournalEntry deposit(UUID transactionId, LedgerAccount account, BigDecimal amount) {
+        return JournalEntry.builder()
+                .transactionId(transactionId)
+                .account(account)
+                .amount(amount)
+                .type(JournalEntryType.CREDIT)
+                .description("Deposit")
+                .build();
+    }
+
+    /**
+     * Returns the counterparty account number from the description of a transfer entry, or null
+     * for other entries. Only used for entries journaled before the counterparty was recorded
+     * elsewhere; a posting description that happens to look like a transfer is misread.
+     */
+    static String transferCounterparty(JournalEntryType type, String description) {
+        String prefix = type == JournalEntryType.DEBIT ? TRANSFER_TO : TRANSFER_FROM;
+        if (description == null || !description.startsWith(prefix)) {
+            return null;
+        }
+        String accountNumber = description.substring(prefix.length());
+        return accountNumber.isEmpty() || accountNumber.length() > 10 ? null : accountNumber;
+    }
+}
@@ -0,0 +1,184 @@
+package com.omnilife.modules.finance.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Migrates journal entries from the former VARCHAR(100) transaction_id column to the BINARY(16)
+ * txn_id column.
+ *
+ * On a database created before the change, the legacy column is NOT NULL, which would reject the
+ * new entries that no longer set it. It is therefore made nullable at startup, before the
+ * EntityManagerFactory and thus before any journal entry can be written; see
+ * JournalTransactionIdBackfillDependency.
+ *
+ * Existing entries are then converted in the background, one chunk per transaction. Entries
+ * without a txn_id are found through the idx_journal_txn_id index, where NULLs sort first, so
+ * every chunk costs the same. The legacy values are random UUIDs in text form and keep their
+ * value; anything else is mapped to a name-based UUID, so both entries of a transfer still share
+ * one ID. Each run stops after the configured time to leave the scheduler to other jobs, and
+ * several instances may run the backfill at once, as a row is only converted while its txn_id
+ * is still NULL. Until an entry is converted, it has no transaction ID in history responses and
+ * is not found by transaction ID.
+ *
+ * The legacy column is left in place once the backfill is done; dropping it rebuilds the table
+ * and is left to a maintenance window.
+ */
+@Component
+public class JournalTransactionIdBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalTransactionIdBackfill.class);
+
+    private static final String TABLE = "journal_entries";
+    private static final String LEGACY_COLUMN = "transaction_id";
+
+    private final DataSource dataSource;
+    private final int chunkSize;
+    private final long maxRunMillis;
+    private volatile boolean complete;
+
+    public JournalTransactionIdBackfill(DataSource dataSource,
+                                        @Value("${omnilife.finance.transaction-id-backfill.chunk-size:1000}") int chunkSize,
+                                        @Value("${omnilife.finance.transaction-id-backfill.max-run-ms:5000}") long maxRunMillis) {
+        this.dataSource = dataSource;
+        this.chunkSize = chunkSize;
+        this.maxRunMillis = maxRunMillis;
+        this.complete = !prepareLegacyColumn();
+    }
+
+    /**
+     * Returns whether every journal entry has a binary transaction ID.
+     *
+     * @return true once the backfill has finished or was not needed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Converts chunks of legacy journal entries until none is left or the run time is used up.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.transaction-id-backfill.interval-ms:1000}",
+            initialDelayString = "${omnilife.finance.transaction-id-backfill.interval-ms:1000}")
+    public void backfill() {
+        if (complete) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            while (System.currentTimeMillis() < deadline) {
+                if (convertChunk(connection) == 0) {
+                    complete = true;
+                    log.info("All journal entries have a binary transaction ID; the legacy {}.{} column "
+                            + "is no longer used and can be dropped", TABLE, LEGACY_COLUMN);
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Failed to backfill journal transaction IDs, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Converts up to one chunk of entries without a txn_id in one transaction.
+     *
+     * @return the number of entries found
+     */
+    private int convertChunk(Connection connection) throws SQLException {
+        try {
+            List<Long> ids = new ArrayList<>(chunkSize);
+            List<UUID> transactionIds = new ArrayList<>(chunkSize);
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, " + LEGACY_COLUMN + " FROM " + TABLE + " WHERE txn_id IS NULL LIMIT ?")) {
+                select.setInt(1, chunkSize);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getLong(1));
+                        transactionIds.add(toUuid(resultSet.getString(2)));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                connection.commit();
+                return 0;
+            }
+
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE " + TABLE + " SET txn_id = ? WHERE id = ? AND txn_id IS NULL")) {
+                for (int i = 0; i < ids.size(); i++) {
+                    update.setBytes(1, toBytes(transactionIds.get(i)));
+                    update.setLong(2, ids.get(i));
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            connection.commit();
+            return ids.size();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the legacy column nullable if it exists and is not yet.
+     *
+     * @return true if the legacy column exists, i.e. if there may be entries to convert
+     */
+    private boolean prepareLegacyColumn() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, TABLE, LEGACY_COLUMN)) {
+                if (!columns.next()) {
+                    return false;
+                }
+                if (columns.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("ALTER TABLE " + TABLE + " MODIFY " + LEGACY_COLUMN + " VARCHAR(100) NULL");
+                    }
+                    log.info("Made legacy column {}.{} nullable; existing entries will be converted to txn_id",
+                            TABLE, LEGACY_COLUMN);
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not prepare " + TABLE + " for binary transaction IDs", e);
+        }
+    }
+
+    private static UUID toUuid(String legacyTransactionId) {
+        String value = legacyTransactionId != null ? legacyTransactionId : "";
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Encodes a UUID most significant byte first, as Hibernate stores a UUID mapped to BINARY.
+     */
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,16 @@
+package com.omnilife.modules.finance.service;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes the EntityManagerFactory depend on the JournalTransactionIdBackfill, so that the legacy
+ * transaction_id column is nullable before any journal entry without it can be persisted.
+ */
+@Component
+public class JournalTransactionIdBackfillDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+    public JournalTransactionIdBackfillDependency() {
+        super(JournalTransactionIdBackfill.class);
+    }
+}
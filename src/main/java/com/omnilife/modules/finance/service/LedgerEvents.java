@@ -0,0 +1,70 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.event.DepositCompleted;
+import com.omnilife.modules.finance.event.PostingCompleted;
+import com.omnilife.modules.finance.event.TransferCompleted;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory methods for the domain events of journaled transfers, postings and deposits, built from their
+ * persisted journal entries so that every engine publishes the same data.
+ */
+final class LedgerEvents {
+
+    private LedgerEvents() {
+    }
+
+    /**
+     * Creates the event of a transfer from its DEBIT and CREDIT entries.
+     */
+    static TransferCompleted transferCompleted(JournalEntry debitEntry, JournalEntry creditEntry) {
+        LedgerAccount fromAccount = debitEntry.getAccount();
+        LedgerAccount toAccount = creditEntry.getAccount();
+        return new TransferCompleted(
+                debitEntry.getTransactionId(),
+                fromAccount.getId(),
+                fromAccount.getAccountNumber(),
+                toAccount.getId(),
+                toAccount.getAccountNumber(),
+                debitEntry.getAmount(),
+                fromAccount.getCurrency(),
+                creditEntry.getAmount(),
+                toAccount.getCurrency(),
+                debitEntry.getFxRate(),
+                debitEntry.getTimestamp());
+    }
+
+    /**
+     * Creates the event of a multi-leg posting from its entries, in leg order.
+     */
+    static PostingCompleted postingCompleted(List<JournalEntry> entries, String currency) {
+        List<PostingCompleted.Leg> legs = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            legs.add(new PostingCompleted.Leg(
+                    entry.getAccount().getId(),
+                    entry.getAccount().getAccountNumber(),
+                    entry.getType(),
+                    entry.getAmount()));
+        }
+        JournalEntry first = entries.get(0);
+        return new PostingCompleted(first.getTransactionId(), currency, legs, first.getTimestamp());
+    }
+
+    /**
+     * Creates the event of a deposit from its CREDIT entry.
+     */
+    static DepositCompleted depositCompleted(JournalEntry depositEntry) {
+        LedgerAccount account = depositEntry.getAccount();
+        return new DepositCompleted(
+                depositEntry.getTransactionId(),
+                account.getId(),
+                account.getAccountNumber(),
+                depositEntry.getAmount(),
+                account.getCurrency(),
+                depositEntry.getTimestamp());
+    }
+}
@@ -0,0 +1,141 @@
+package com.omnilife.modules.finance.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local file holding the LedgerLogRecords of one sequencer partition.
+ *
+ * Each record is framed as [length][CRC32][payload]. A crash can leave a torn frame at the end
+ * of the file; reading stops at the first frame that is incomplete or fails its checksum, which
+ * is exactly the data that was never acknowledged to a caller.
+ * Not thread-safe: a log is only ever used by its partition's sequencer thread (and by recovery
+ * before that thread starts).
+ */
+final class LedgerLog implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    LedgerLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+    }
+
+    /**
+     * Appends records to the log. They are durable only after {@link #sync()} returns.
+     */
+    void append(List<LedgerLogRecord> records) throws IOException {
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(256);
+        DataOutputStream payloadOut = new DataOutputStream(payloadBuffer);
+        CRC32 crc = new CRC32();
+        for (LedgerLogRecord record : records) {
+            payloadBuffer.reset();
+            record.writeTo(payloadOut);
+            payloadOut.flush();
+            byte[] payload = payloadBuffer.toByteArray();
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        }
+        out.flush();
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Forces all appended records to the storage device.
+     */
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Returns the offset at which the next append starts.
+     */
+    long position() throws IOException {
+        return channel.position();
+    }
+
+    /**
+     * Discards the whole log. Only valid once every record in it has been written to the database.
+     */
+    void truncate() throws IOException {
+        truncate(0);
+    }
+
+    /**
+     * Discards everything from the given offset on, e.g. the frames of an append that failed part
+     * way, so that they are neither replayed nor hide the records appended after them.
+     */
+    void truncate(long position) throws IOException {
+        channel.truncate(position);
+        channel.position(position);
+        channel.force(true);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads all intact records of a log file, stopping at the first torn or corrupt frame.
+     */
+    static List<LedgerLogRecord> readAll(Path path) throws IOException {
+        List<LedgerLogRecord> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+        while (bytes.remaining() >= HEADER_BYTES) {
+            int length = bytes.getInt();
+            int checksum = bytes.getInt();
+            if (length <= 0 || length > bytes.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            bytes.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            records.add(LedgerLogRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,71 @@
+package com.omnilife.modules.finance.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One durable balance change of the sequenced transfer engine, as written to the ledger log.
+ * A TRANSFER record carries both legs; a DEPOSIT record only uses the to-account fields.
+ *
+ * @param type              the kind of balance change
+ * @param partition         the sequencer partition that wrote the record
+ * @param sequence          the record's sequence number within its partition
+ * @param transactionId     the transaction ID shared by the journal entries of the record
+ * @param fromAccountId     the debited account ID, 0 for deposits
+ * @param fromAccountNumber the debited account number, empty for deposits
+ * @param toAccountId       the credited account ID
+ * @param toAccountNumber   the credited account number
+ * @param amount            the amount moved
+ * @param timestamp         the time the change was applied in memory
+ */
+record LedgerLogRecord(
+        Type type,
+        int partition,
+        long sequence,
+        UUID transactionId,
+        long fromAccountId,
+        String fromAccountNumber,
+        long toAccountId,
+        String toAccountNumber,
+        BigDecimal amount,
+        LocalDateTime timestamp
+) {
+
+    enum Type {
+        TRANSFER,
+        DEPOSIT
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeInt(partition);
+        out.writeLong(sequence);
+        // Written in text form, so that logs written before transaction IDs became UUIDs still read
+        out.writeUTF(transactionId.toString());
+        out.writeLong(fromAccountId);
+        out.writeUTF(fromAccountNumber);
+        out.writeLong(toAccountId);
+        out.writeUTF(toAccountNumber);
+        out.writeUTF(amount.toPlainString());
+        out.writeUTF(timestamp.toString());
+    }
+
+    static LedgerLogRecord readFrom(DataInputStream in) throws IOException {
+        return new LedgerLogRecord(
+                Type.values()[in.readByte()],
+                in.readInt(),
+                in.readLong(),
+                UUID.fromString(in.readUTF()),
+                in.readLong(),
+                in.readUTF(),
+                in.readLong(),
+                in.readUTF(),
+                new BigDecimal(in.readUTF()),
+                LocalDateTime.parse(in.readUTF())
+        );
+    }
+}
@@ -0,0 +1,295 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded owner of the in-memory balances of one partition of accounts.
+ *
+ * Commands are drained from the inbox in batches. Each batch is applied in order, its records are
+ * appended to the partition's ledger log with a single fsync (group commit), and only then are
+ * callers acknowledged and the credit legs of transfers forwarded to the partitions that own the
+ * credited accounts. Because every balance has exactly one writer thread, no locks are needed.
+ *
+ * A batch that cannot be logged is reverted and its callers are failed, and the log is cut back to
+ * where the batch began. If that is not possible either, the partition halts and rejects every
+ * further command until restarted, as recovery could otherwise replay the rejected records.
+ */
+final class LedgerSequencer implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSequencer.class);
+
+    /**
+     * Mutable in-memory state of one account. The balance, in minor units, is only written by the
+     * owning sequencer thread, and is volatile so that other threads can read it.
+     */
+    static final class AccountState {
+        final long id;
+        final String accountNumber;
+        final String currency;
+        volatile long balance;
+
+        AccountState(long id, String accountNumber, String currency, long balance) {
+            this.id = id;
+            this.accountNumber = accountNumber;
+            this.currency = currency;
+            this.balance = balance;
+        }
+    }
+
+    sealed interface Command permits TransferCommand, CreditCommand, DepositCommand {
+    }
+
+    /**
+     * Debits the from-account; submitted to the partition owning the from-account.
+     */
+    record TransferCommand(UUID transactionId, AccountState from, AccountState to, long amount,
+                           CompletableFuture<Void> done) implements Command {
+    }
+
+    /**
+     * Credit leg of a durable transfer; submitted to the partition owning the to-account.
+     */
+    record CreditCommand(AccountState to, long amount) implements Command {
+    }
+
+    /**
+     * Credits a deposit; submitted to the partition owning the account.
+     */
+    record DepositCommand(UUID transactionId, AccountState to, long amount,
+                          CompletableFuture<Void> done) implements Command {
+    }
+
+    /**
+     * Routes the credit legs of durable transfers to their owning sequencers.
+     */
+    interface CreditRouter {
+        void route(CreditCommand credit);
+    }
+
+    private final int partition;
+    private final LedgerLog ledgerLog;
+    private final LedgerWriteBehind writeBehind;
+    private final CreditRouter creditRouter;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+    private final long maxLogBytes;
+    private final BlockingQueue<Command> inbox = new LinkedBlockingQueue<>();
+    private long sequence;
+    private long loggedSequence;
+    private volatile boolean running = true;
+    private volatile boolean halted;
+
+    LedgerSequencer(int partition, LedgerLog ledgerLog, LedgerWriteBehind writeBehind, CreditRouter creditRouter,
+                    long lastSequence, int maxBatchSize, int queueCapacity, long maxLogBytes) {
+        this.partition = partition;
+        this.ledgerLog = ledgerLog;
+        this.writeBehind = writeBehind;
+        this.creditRouter = creditRouter;
+        this.sequence = lastSequence;
+        this.loggedSequence = lastSequence;
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxLogBytes = maxLogBytes;
+    }
+
+    /**
+     * Submits a caller command. Fails fast when the partition is backed up.
+     *
+     * @throws IllegalStateException if the sequencer is stopped or halted, or its inbox is full
+     */
+    void submit(Command command) {
+        if (halted) {
+            throw new IllegalStateException("Ledger sequencer " + partition + " is halted");
+        }
+        if (!running) {
+            throw new IllegalStateException("Ledger sequencer " + partition + " is stopped");
+        }
+        if (inbox.size() >= queueCapacity) {
+            throw new IllegalStateException("Ledger sequencer " + partition + " is overloaded");
+        }
+        inbox.add(command);
+    }
+
+    /**
+     * Submits the credit leg of a transfer that is already durable. Never rejected, because the
+     * transfer has already been acknowledged.
+     */
+    void submitCredit(CreditCommand credit) {
+        inbox.add(credit);
+    }
+
+    /**
+     * Stops the sequencer once every queued command has been processed.
+     */
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (!halted && (running || !inbox.isEmpty())) {
+            try {
+                Command first = inbox.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    inbox.drainTo(batch, maxBatchSize - 1);
+                    process(batch);
+                    batch.clear();
+                }
+                truncateLogIfPersisted();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ledger sequencer {} failed to process a batch", partition, e);
+                batch.clear();
+            }
+        }
+        if (halted) {
+            rejectQueued();
+        }
+    }
+
+    private void process(List<Command> batch) {
+        List<LedgerLogRecord> records = new ArrayList<>(batch.size());
+        List<Command> applied = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Command command : batch) {
+            switch (command) {
+                case CreditCommand credit -> credit.to().balance += credit.amount();
+                case TransferCommand transfer -> {
+                    AccountState from = transfer.from();
+                    if (from.balance < transfer.amount()) {
+                        transfer.done().completeExceptionally(new InsufficientFundsException(
+                                "Insufficient balance. Current balance: " + Money.format(from.balance)
+                                        + ", Required: " + Money.format(transfer.amount())));
+                        continue;
+                    }
+                    from.balance -= transfer.amount();
+                    records.add(new LedgerLogRecord(LedgerLogRecord.Type.TRANSFER, partition, ++sequence,
+                            transfer.transactionId(), from.id, from.accountNumber,
+                            transfer.to().id, transfer.to().accountNumber, Money.toBigDecimal(transfer.amount()), now));
+                    applied.add(transfer);
+                }
+                case DepositCommand deposit -> {
+                    AccountState to = deposit.to();
+                    to.balance += deposit.amount();
+                    records.add(new LedgerLogRecord(LedgerLogRecord.Type.DEPOSIT, partition, ++sequence,
+                            deposit.transactionId(), 0L, "", to.id, to.accountNumber, Money.toBigDecimal(deposit.amount()), now));
+                    applied.add(deposit);
+                }
+            }
+        }
+
+        if (records.isEmpty()) {
+            return;
+        }
+
+        long logPosition;
+        try {
+            logPosition = ledgerLog.position();
+        } catch (IOException e) {
+            reject(applied, e);
+            return;
+        }
+        try {
+            ledgerLog.append(records);
+            ledgerLog.sync();
+        } catch (IOException e) {
+            reject(applied, e);
+            // The sequence numbers of the rejected records are not reused, so that they cannot be
+            // mistaken for the records of a later batch
+            try {
+                ledgerLog.truncate(logPosition);
+            } catch (IOException truncateFailure) {
+                log.error("Ledger sequencer {} could not remove the rejected records from its log; halting",
+                        partition, truncateFailure);
+                halted = true;
+            }
+            return;
+        }
+        loggedSequence = sequence;
+
+        writeBehind.submit(records);
+        for (Command command : applied) {
+            if (command instanceof TransferCommand transfer) {
+                creditRouter.route(new CreditCommand(transfer.to(), transfer.amount()));
+            }
+            completion(command).complete(null);
+        }
+    }
+
+    /**
+     * Reverts the applied commands of a batch that could not be logged and fails their callers.
+     */
+    private void reject(List<Command> applied, IOException cause) {
+        log.error("Ledger sequencer {} could not write its log; rejecting {} commands", partition, applied.size(), cause);
+        revert(applied);
+        IllegalStateException failure = new IllegalStateException("Ledger log write failed", cause);
+        for (Command command : applied) {
+            completion(command).completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Fails every caller command still queued once the sequencer has halted. Queued credits are
+     * dropped: their transfers are in the debiting partition's log and reach the database from there.
+     */
+    private void rejectQueued() {
+        IllegalStateException failure = new IllegalStateException("Ledger sequencer " + partition + " is halted");
+        List<Command> queued = new ArrayList<>();
+        inbox.drainTo(queued);
+        for (Command command : queued) {
+            completion(command).completeExceptionally(failure);
+        }
+    }
+
+    private void revert(List<Command> applied) {
+        for (int i = applied.size() - 1; i >= 0; i--) {
+            switch (applied.get(i)) {
+                case TransferCommand transfer ->
+                        transfer.from().balance += transfer.amount();
+                case DepositCommand deposit ->
+                        deposit.to().balance -= deposit.amount();
+                case CreditCommand credit -> {
+                    // Credits are never part of the applied list
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Void> completion(Command command) {
+        return switch (command) {
+            case TransferCommand transfer -> transfer.done();
+            case DepositCommand deposit -> deposit.done();
+            case CreditCommand credit -> CompletableFuture.completedFuture(null);
+        };
+    }
+
+    /**
+     * Empties the log once it has grown past the size limit and every record in it is in the database.
+     */
+    private void truncateLogIfPersisted() {
+        try {
+            if (ledgerLog.size() > maxLogBytes && writeBehind.persistedSequence(partition) >= loggedSequence) {
+                ledgerLog.truncate();
+            }
+        } catch (IOException e) {
+            log.warn("Ledger sequencer {} could not truncate its log", partition, e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.domain.LedgerSequencerCheckpoint;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import com.omnilife.modules.finance.repository.LedgerSequencerCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Background writer of the sequenced transfer engine.
+ *
+ * Takes durable LedgerLogRecords from the sequencers and writes their journal entries, balance
+ * deltas and the partition checkpoints to the database in one transaction per batch. Balance
+ * deltas are summed per account within a batch, so a hot account costs one UPDATE per batch
+ * rather than one per transfer. Failed batches are retried until they succeed; the records stay
+ * in the ledger log meanwhile.
+ */
+final class LedgerWriteBehind implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerWriteBehind.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerSequencerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final BlockingQueue<LedgerLogRecord> queue = new LinkedBlockingQueue<>();
+    private final AtomicLongArray persistedSequence;
+    private volatile boolean running = true;
+
+    LedgerWriteBehind(LedgerAccountRepository ledgerAccountRepository,
+                      JournalEntryRepository journalEntryRepository,
+                      LedgerSequencerCheckpointRepository checkpointRepository,
+                      TransactionTemplate transactionTemplate,
+                      ApplicationEventPublisher eventPublisher,
+                      int batchSize,
+                      int partitions) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.persistedSequence = new AtomicLongArray(partitions);
+    }
+
+    /**
+     * Queues durable records for writing to the database.
+     */
+    void submit(List<LedgerLogRecord> records) {
+        queue.addAll(records);
+    }
+
+    /**
+     * Returns the highest sequence number of a partition that has been written to the database.
+     */
+    long persistedSequence(int partition) {
+        return persistedSequence.get(partition);
+    }
+
+    void markPersisted(int partition, long sequence) {
+        persistedSequence.accumulateAndGet(partition, sequence, Math::max);
+    }
+
+    /**
+     * Stops the writer once every queued record has been written.
+     */
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<LedgerLogRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerLogRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persistWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void persistWithRetry(List<LedgerLogRecord> batch) throws InterruptedException {
+        while (true) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} ledger records to the database, retrying", batch.size(), e);
+                Thread.sleep(RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of records and the matching checkpoints in one transaction.
+     * Records at or below their partition's checkpoint are skipped, which makes replaying the
+     * log during recovery idempotent.
+     */
+    void persist(List<LedgerLogRecord> records) {
+        Map<Integer, Long> lastSequences = transactionTemplate.execute(status -> {
+            Map<Integer, LedgerSequencerCheckpoint> checkpoints = new HashMap<>();
+            Map<Long, BigDecimal> balanceDeltas = new TreeMap<>();
+            List<JournalEntry> entries = new ArrayList<>(records.size() * 2);
+            List<Object> events = new ArrayList<>(records.size());
+
+            // Load the involved accounts with one query; the events carry their numbers and currencies
+            Set<Long> accountIds = new HashSet<>();
+            for (LedgerLogRecord record : records) {
+                accountIds.add(record.toAccountId());
+                if (record.type() == LedgerLogRecord.Type.TRANSFER) {
+                    accountIds.add(record.fromAccountId());
+                }
+            }
+            ledgerAccountRepository.findAllById(accountIds);
+
+            for (LedgerLogRecord record : records) {
+                LedgerSequencerCheckpoint checkpoint = checkpoints.computeIfAbsent(record.partition(),
+                        partition -> checkpointRepository.findById(partition)
+                                .orElseGet(() -> new LedgerSequencerCheckpoint(partition, 0L)));
+                if (record.sequence() <= checkpoint.getLastSequence()) {
+                    continue;
+                }
+                checkpoint.setLastSequence(record.sequence());
+
+                LedgerAccount toAccount = ledgerAccountRepository.getReferenceById(record.toAccountId());
+                balanceDeltas.merge(record.toAccountId(), record.amount(), BigDecimal::add);
+                if (record.type() == LedgerLogRecord.Type.TRANSFER) {
+                    LedgerAccount fromAccount = ledgerAccountRepository.getReferenceById(record.fromAccountId());
+                    balanceDeltas.merge(record.fromAccountId(), record.amount().negate(), BigDecimal::add);
+
+                    JournalEntry debitEntry = JournalEntries.transferDebit(record.transactionId(), fromAccount,
+                            record.toAccountNumber(), record.amount(), null);
+                    JournalEntry creditEntry = JournalEntries.transferCredit(record.transactionId(), toAccount,
+                            record.fromAccountNumber(), record.amount(), null);
+                    debitEntry.setTimestamp(record.timestamp());
+                    creditEntry.setTimestamp(record.timestamp());
+                    entries.add(debitEntry);
+                    entries.add(creditEntry);
+                    events.add(LedgerEvents.transferCompleted(debitEntry, creditEntry));
+                } else {
+                    JournalEntry depositEntry = JournalEntries.deposit(record.transactionId(), toAccount, record.amount());
+                    depositEntry.setTimestamp(record.timestamp());
+                    entries.add(depositEntry);
+                    events.add(LedgerEvents.depositCompleted(depositEntry));
+                }
+            }
+
+            journalEntryRepository.saveAll(entries);
+            journalEntryRepository.flush();
+            events.forEach(eventPublisher::publishEvent);
+
+            // Account rows are updated in ascending ID order to keep a consistent lock order
+            balanceDeltas.forEach((accountId, delta) -> {
+                if (delta.signum() != 0) {
+                    ledgerAccountRepository.adjustBalance(accountId, delta);
+                }
+            });
+            checkpointRepository.saveAll(checkpoints.values());
+
+            Map<Integer, Long> result = new HashMap<>();
+            checkpoints.values().forEach(c -> result.put(c.getPartitionId(), c.getLastSequence()));
+            return result;
+        });
+
+        if (lastSequences != null) {
+            lastSequences.forEach(this::markPersisted);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.omnilife.modules.finance.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point arithmetic on amounts held as a long number of minor units (cents), as used
+ * internally by the transfer paths.
+ *
+ * Balances and journal amounts are stored with scale 2, so every amount converts exactly. An
+ * amount with more decimal places is rejected rather than rounded. Amounts are converted back to
+ * BigDecimal only where they leave the service, i.e. on entities and in responses.
+ */
+final class Money {
+
+    static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount to minor units without rounding.
+     *
+     * @throws IllegalArgumentException if the amount has more than two decimal places or does not fit in a long
+     */
+    static long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Amount " + amount.toPlainString() + " must have at most " + SCALE + " decimal places", e);
+        }
+    }
+
+    /**
+     * Converts minor units to an amount with scale 2.
+     */
+    static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Adds minor units to a stored balance and returns the new balance with scale 2.
+     */
+    static BigDecimal add(BigDecimal balance, long minorUnits) {
+        return toBigDecimal(Math.addExact(toMinorUnits(balance), minorUnits));
+    }
+
+    /**
+     * Formats minor units for messages, e.g. 1050 as "10.50".
+     */
+    static String format(long minorUnits) {
+        return toBigDecimal(minorUnits).toPlainString();
+    }
+}
@@ -0,0 +1,256 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.persistence.TimeOrderedUuids;
+import com.omnilife.modules.finance.domain.AccountBalanceSlot;
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.exception.TransferConflictException;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import com.omnilife.modules.finance.service.TransferMetrics.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Transfer engine that reads accounts without locks and relies on the @Version column of
+ * LedgerAccount to detect concurrent updates at commit time.
+ * Selected with omnilife.finance.transfer.engine=optimistic.
+ *
+ * No account row is locked while the transfer is computed; the rows are only locked by the
+ * version-checked UPDATEs, which are flushed after the balances have been computed. A transaction
+ * that lost a race is rolled back and retried with exponential backoff and full jitter, up to the
+ * configured number of attempts. This suits workloads where most transfers touch distinct
+ * accounts. Under heavy contention on a single account the pessimistic engine wastes less work.
+ *
+ * Hot account slots are still locked individually, as in the pessimistic engine. A transfer that
+ * touches slots first locks both account rows in account number order, so that it takes its locks
+ * in the same order as the pessimistic engine, batches and postings; such a transfer is therefore
+ * not optimistic. Deadlocks reported by the database are retried in the same way as version
+ * conflicts.
+ */
+@Service
+@ConditionalOnProperty(name = "omnilife.finance.transfer.engine", havingValue = "optimistic")
+public class OptimisticTransferEngine implements TransferEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticTransferEngine.class);
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final HotAccountService hotAccountService;
+    private final FxRateService fxRateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferMetrics transferMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticTransferEngine(LedgerAccountRepository ledgerAccountRepository,
+                                    JournalEntryRepository journalEntryRepository,
+                                    HotAccountService hotAccountService,
+                                    FxRateService fxRateService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TransferMetrics transferMetrics,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${omnilife.finance.transfer.optimistic.max-attempts:5}") int maxAttempts,
+                                    @Value("${omnilife.finance.transfer.optimistic.initial-backoff-ms:5}") long initialBackoffMillis,
+                                    @Value("${omnilife.finance.transfer.optimistic.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.hotAccountService = hotAccountService;
+        this.fxRateService = fxRateService;
+        this.eventPublisher = eventPublisher;
+        this.transferMetrics = transferMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Transfers funds from one account to another with full double-entry bookkeeping.
+     * Each attempt runs in its own transaction.
+     *
+     * @param transactionId  the transaction ID of the two journal entries
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer in minor units
+     * @throws AccountNotFoundException   if either account is not found
+     * @throws InsufficientFundsException if the fromAccount has insufficient balance
+     * @throws FxRateNotFoundException    if the currencies differ and no exchange rate is configured
+     * @throws TransferConflictException  if every attempt conflicted with a concurrent update
+     */
+    @Override
+    public void transfer(UUID transactionId, String fromAccountNum, String toAccountNum, long amount) {
+        executeWithRetry("Transfer", () -> {
+            doTransfer(transactionId, fromAccountNum, toAccountNum, amount);
+            return null;
+        });
+    }
+
+    /**
+     * Funds a wallet by adding money to the account balance and journaling it as a deposit.
+     * For hot accounts the amount is credited to a random sub-balance slot.
+     *
+     * @param accountNumber the account number to fund
+     * @param amount        the amount to add to the balance in minor units
+     * @return the updated LedgerAccount; for hot accounts a detached copy carrying the total balance
+     * @throws AccountNotFoundException  if the account is not found
+     * @throws TransferConflictException if every attempt conflicted with a concurrent update
+     */
+    @Override
+    public LedgerAccount deposit(String accountNumber, long amount) {
+        return executeWithRetry("Deposit", () -> {
+            LedgerAccount account = findAccount(accountNumber, "Account");
+            JournalEntry depositEntry = journalEntryRepository.save(
+                    JournalEntries.deposit(TimeOrderedUuids.next(), account, Money.toBigDecimal(amount)));
+            eventPublisher.publishEvent(LedgerEvents.depositCompleted(depositEntry));
+            if (account.isHotAccount()) {
+                AccountBalanceSlot slot = hotAccountService.lockRandomSlot(account);
+                slot.setBalance(Money.add(slot.getBalance(), amount));
+                return hotAccountService.withTotalBalance(account);
+            }
+            account.setBalance(Money.add(account.getBalance(), amount));
+            return ledgerAccountRepository.save(account);
+        });
+    }
+
+    private void doTransfer(UUID transactionId, String fromAccountNum, String toAccountNum, long amount) {
+        // Account rows are locked before slot rows, in ascending account number order, as on every
+        // other path that locks slots. They are locked before they are read if a hot account is known
+        // to be involved, so that they are not read stale
+        long phaseStart = System.nanoTime();
+        boolean rowsLocked = hotAccountService.isHotAccount(fromAccountNum)
+                || hotAccountService.isHotAccount(toAccountNum);
+        if (rowsLocked) {
+            ledgerAccountRepository.findAllByAccountNumberInWithLock(Set.of(fromAccountNum, toAccountNum));
+            phaseStart = transferMetrics.recordPhase(Phase.LOCK_WAIT, phaseStart);
+        }
+
+        // Validation: Check if both accounts exist
+        LedgerAccount fromAccount = findAccount(fromAccountNum, "From");
+        LedgerAccount toAccount = findAccount(toAccountNum, "To");
+        boolean creditToSlot = !fromAccountNum.equals(toAccountNum) && toAccount.isHotAccount();
+        phaseStart = transferMetrics.recordPhase(Phase.VALIDATION, phaseStart);
+
+        if (!rowsLocked && (creditToSlot || fromAccount.isHotAccount())) {
+            // Only just turned hot; a row changed since it was read fails the version check on flush
+            ledgerAccountRepository.findAllByAccountNumberInWithLock(Set.of(fromAccountNum, toAccountNum));
+        }
+
+        // Slot rows are locked in ascending account number order
+        List<AccountBalanceSlot> fromSlots;
+        AccountBalanceSlot toSlot = null;
+        if (creditToSlot && toAccountNum.compareTo(fromAccountNum) < 0) {
+            toSlot = hotAccountService.lockRandomSlot(toAccount);
+            fromSlots = hotAccountService.lockSlots(fromAccount);
+        } else {
+            fromSlots = hotAccountService.lockSlots(fromAccount);
+            if (creditToSlot) {
+                toSlot = hotAccountService.lockRandomSlot(toAccount);
+            }
+        }
+        phaseStart = transferMetrics.recordPhase(Phase.LOCK_WAIT, phaseStart);
+
+        // Validation: Check that an exchange rate is configured if the currencies differ
+        BigDecimal fxRate = fxRateService.rate(fromAccount.getCurrency(), toAccount.getCurrency());
+        long creditAmount = FxRateService.convert(amount, fxRate);
+
+        // Validation: Check if fromAccount has sufficient balance
+        long available = hotAccountService.availableBalance(fromAccount, fromSlots);
+        if (available < amount) {
+            throw new InsufficientFundsException("Insufficient balance. Current balance: "
+                    + Money.format(available) + ", Required: " + Money.format(amount));
+        }
+        phaseStart = transferMetrics.recordPhase(Phase.VALIDATION, phaseStart);
+
+        // Execution: Deduct amount from fromAccount
+        hotAccountService.debit(fromAccount, fromSlots, amount);
+
+        // Execution: Add the amount, converted to its currency, to toAccount
+        if (toSlot != null) {
+            toSlot.setBalance(Money.add(toSlot.getBalance(), creditAmount));
+        } else {
+            toAccount.setBalance(Money.add(toAccount.getBalance(), creditAmount));
+            ledgerAccountRepository.save(toAccount);
+        }
+
+        // The version-checked UPDATEs are flushed here, so a conflict surfaces before the journal is written
+        ledgerAccountRepository.save(fromAccount);
+        ledgerAccountRepository.flush();
+        phaseStart = transferMetrics.recordPhase(Phase.BALANCE_UPDATE, phaseStart);
+
+        BigDecimal journalAmount = Money.toBigDecimal(amount);
+        BigDecimal creditJournalAmount = fxRate != null ? Money.toBigDecimal(creditAmount) : journalAmount;
+        JournalEntry debitEntry = JournalEntries.transferDebit(transactionId, fromAccount, toAccountNum,
+                journalAmount, fxRate);
+        JournalEntry creditEntry = JournalEntries.transferCredit(transactionId, toAccount, fromAccountNum,
+                creditJournalAmount, fxRate);
+        journalEntryRepository.save(debitEntry);
+        journalEntryRepository.save(creditEntry);
+
+        // Listeners of the event run after commit; an attempt that is rolled back leaves no publication
+        eventPublisher.publishEvent(LedgerEvents.transferCompleted(debitEntry, creditEntry));
+        journalEntryRepository.flush();
+        transferMetrics.recordPhase(Phase.JOURNAL_WRITE, phaseStart);
+    }
+
+    /**
+     * Runs an action in a new transaction, retrying it when it conflicts with a concurrent update.
+     *
+     * @param operation the operation name, used in log and error messages
+     * @param action    the action to run
+     * @return the result of the first successful attempt
+     * @throws TransferConflictException if every attempt conflicted with a concurrent update
+     */
+    private <T> T executeWithRetry(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new TransferConflictException(
+                            operation + " failed after " + attempt + " attempts due to concurrent updates", e);
+                }
+                log.debug("{} attempt {} conflicted with a concurrent update, retrying", operation, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Sleeps for a random time between zero and an exponentially growing, capped upper bound,
+     * so that transactions that collided once do not collide again on their next attempt.
+     */
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferConflictException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private LedgerAccount findAccount(String accountNumber, String role) {
+        return ledgerAccountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(role + " account not found: " + accountNumber));
+    }
+}
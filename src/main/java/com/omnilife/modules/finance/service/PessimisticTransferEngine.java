@@ -0,0 +1,198 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.persistence.TimeOrderedUuids;
+import com.omnilife.modules.finance.domain.AccountBalanceSlot;
+import com.omnilife.modules.finance.domain.JournalEntry;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import com.omnilife.modules.finance.service.TransferMetrics.Phase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Default transfer engine that serializes balance changes with pessimistic row locks in the database.
+ * Selected with omnilife.finance.transfer.engine=pessimistic, or when the property is not set.
+ */
+@Service
+@ConditionalOnProperty(name = "omnilife.finance.transfer.engine", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticTransferEngine implements TransferEngine {
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final HotAccountService hotAccountService;
+    private final FxRateService fxRateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferMetrics transferMetrics;
+
+    public PessimisticTransferEngine(LedgerAccountRepository ledgerAccountRepository,
+                                     JournalEntryRepository journalEntryRepository,
+                                     HotAccountService hotAccountService,
+                                     FxRateService fxRateService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     TransferMetrics transferMetrics) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.hotAccountService = hotAccountService;
+        this.fxRateService = fxRateService;
+        this.eventPublisher = eventPublisher;
+        this.transferMetrics = transferMetrics;
+    }
+
+    /**
+     * Transfers funds from one account to another with full double-entry bookkeeping.
+     * This method is transactional to ensure data consistency. The balance changes and the journal
+     * entries are flushed separately, so that the time of each phase can be recorded.
+     *
+     * @param transactionId  the transaction ID of the two journal entries
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer in minor units
+     * @throws AccountNotFoundException  if either account is not found
+     * @throws InsufficientFundsException if the fromAccount has insufficient balance
+     * @throws FxRateNotFoundException    if the currencies differ and no exchange rate is configured
+     */
+    @Override
+    @Transactional
+    public void transfer(UUID transactionId, String fromAccountNum, String toAccountNum, long amount) {
+        // Validation: Check if both accounts exist
+        // Using pessimistic write lock to prevent race conditions and double spending.
+        // This ensures that when multiple concurrent transfer requests target the same account,
+        // only one transaction can modify the account balance at a time, preventing:
+        // - Double spending (same funds being transferred twice)
+        // - Lost updates (concurrent balance modifications overwriting each other)
+        // - Negative balances (insufficient balance checks passing due to race conditions)
+        // The two rows are always locked in ascending account number order, so that concurrent
+        // transfers in opposite directions between the same accounts cannot deadlock.
+        // A hot toAccount is not locked at all: the credit goes to one of its sub-balance slots.
+        long phaseStart = System.nanoTime();
+        boolean creditToSlot = !fromAccountNum.equals(toAccountNum) && hotAccountService.isHotAccount(toAccountNum);
+        LedgerAccount fromAccount;
+        LedgerAccount toAccount;
+        if (creditToSlot) {
+            fromAccount = lockAccount(fromAccountNum, "From");
+            toAccount = ledgerAccountRepository.findByAccountNumber(toAccountNum)
+                    .orElseThrow(() -> new AccountNotFoundException("To account not found: " + toAccountNum));
+        } else if (fromAccountNum.compareTo(toAccountNum) <= 0) {
+            fromAccount = lockAccount(fromAccountNum, "From");
+            toAccount = lockAccount(toAccountNum, "To");
+        } else {
+            toAccount = lockAccount(toAccountNum, "To");
+            fromAccount = lockAccount(fromAccountNum, "From");
+        }
+
+        // Slot rows are locked after all account rows, again in ascending account number order
+        List<AccountBalanceSlot> fromSlots;
+        AccountBalanceSlot toSlot = null;
+        if (creditToSlot && toAccountNum.compareTo(fromAccountNum) < 0) {
+            toSlot = hotAccountService.lockRandomSlot(toAccount);
+            fromSlots = hotAccountService.lockSlots(fromAccount);
+        } else {
+            fromSlots = hotAccountService.lockSlots(fromAccount);
+            if (creditToSlot) {
+                toSlot = hotAccountService.lockRandomSlot(toAccount);
+            }
+        }
+        phaseStart = transferMetrics.recordPhase(Phase.LOCK_WAIT, phaseStart);
+
+        // Validation: Check that an exchange rate is configured if the currencies differ
+        BigDecimal fxRate = fxRateService.rate(fromAccount.getCurrency(), toAccount.getCurrency());
+        long creditAmount = FxRateService.convert(amount, fxRate);
+
+        // Validation: Check if fromAccount has sufficient balance
+        long available = hotAccountService.availableBalance(fromAccount, fromSlots);
+        if (available < amount) {
+            throw new InsufficientFundsException("Insufficient balance. Current balance: "
+                    + Money.format(available) + ", Required: " + Money.format(amount));
+        }
+        phaseStart = transferMetrics.recordPhase(Phase.VALIDATION, phaseStart);
+
+        // Execution: Deduct amount from fromAccount
+        hotAccountService.debit(fromAccount, fromSlots, amount);
+
+        // Execution: Add the amount, converted to its currency, to toAccount
+        if (toSlot != null) {
+            toSlot.setBalance(Money.add(toSlot.getBalance(), creditAmount));
+        } else {
+            toAccount.setBalance(Money.add(toAccount.getBalance(), creditAmount));
+            ledgerAccountRepository.save(toAccount);
+        }
+
+        // Save fromAccount and flush it together with toAccount and the locked slots
+        ledgerAccountRepository.save(fromAccount);
+        ledgerAccountRepository.flush();
+        phaseStart = transferMetrics.recordPhase(Phase.BALANCE_UPDATE, phaseStart);
+
+        // Create DEBIT entry for fromAccount and CREDIT entry for toAccount, linked by the transaction ID
+        BigDecimal journalAmount = Money.toBigDecimal(amount);
+        BigDecimal creditJournalAmount = fxRate != null ? Money.toBigDecimal(creditAmount) : journalAmount;
+        JournalEntry debitEntry = JournalEntries.transferDebit(transactionId, fromAccount, toAccountNum,
+                journalAmount, fxRate);
+        JournalEntry creditEntry = JournalEntries.transferCredit(transactionId, toAccount, fromAccountNum,
+                creditJournalAmount, fxRate);
+
+        // Save both journal entries
+        journalEntryRepository.save(debitEntry);
+        journalEntryRepository.save(creditEntry);
+
+        // Listeners of the event run after commit
+        eventPublisher.publishEvent(LedgerEvents.transferCompleted(debitEntry, creditEntry));
+        journalEntryRepository.flush();
+        transferMetrics.recordPhase(Phase.JOURNAL_WRITE, phaseStart);
+    }
+
+    /**
+     * Funds a wallet by adding money to the account balance and journaling it as a deposit.
+     * For hot accounts the amount is credited to a random sub-balance slot.
+     *
+     * @param accountNumber the account number to fund
+     * @param amount        the amount to add to the balance in minor units
+     * @return the updated LedgerAccount; for hot accounts a detached copy carrying the total balance
+     * @throws AccountNotFoundException if the account is not found
+     */
+    @Override
+    @Transactional
+    public LedgerAccount deposit(String accountNumber, long amount) {
+        // A hot account is credited through a slot, so its row is not locked; any other row is
+        // locked for the read-modify-write of its balance
+        LedgerAccount account = (hotAccountService.isHotAccount(accountNumber)
+                ? ledgerAccountRepository.findByAccountNumber(accountNumber)
+                : ledgerAccountRepository.findByAccountNumberWithLock(accountNumber))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        JournalEntry depositEntry = journalEntryRepository.save(
+                JournalEntries.deposit(TimeOrderedUuids.next(), account, Money.toBigDecimal(amount)));
+        eventPublisher.publishEvent(LedgerEvents.depositCompleted(depositEntry));
+
+        if (account.isHotAccount()) {
+            AccountBalanceSlot slot = hotAccountService.lockRandomSlot(account);
+            slot.setBalance(Money.add(slot.getBalance(), amount));
+            return hotAccountService.withTotalBalance(account);
+        }
+
+        account.setBalance(Money.add(account.getBalance(), amount));
+        return ledgerAccountRepository.save(account);
+    }
+
+    /**
+     * Loads an account with a pessimistic write lock.
+     *
+     * @param accountNumber the account number to lock
+     * @param role          "From" or "To", used in the not-found message
+     * @return the locked LedgerAccount
+     * @throws AccountNotFoundException if the account is not found
+     */
+    private LedgerAccount lockAccount(String accountNumber, String role) {
+        return ledgerAccountRepository.findByAccountNumberWithLock(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(role + " account not found: " + accountNumber));
+    }
+}
@@ -0,0 +1,302 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.dto.AccountActivityBalance;
+import com.omnilife.modules.finance.dto.AccountJournalBalance;
+import com.omnilife.modules.finance.dto.AccountMismatch;
+import com.omnilife.modules.finance.dto.ReconciliationSummary;
+import com.omnilife.modules.finance.dto.StoredAccountBalance;
+import com.omnilife.modules.finance.exception.ReconciliationInProgressException;
+import com.omnilife.modules.finance.repository.AccountActivityRepository;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Checks, for every LedgerAccount, that the stored balance equals the net of its journal entries,
+ * and that the account activity read model agrees with the journal.
+ *
+ * The account ID range is split recursively on a dedicated ForkJoinPool until each task covers
+ * at most one chunk of IDs. A chunk is checked with aggregate queries, the stored balances
+ * including hot account slots, the journal balances of both journal_entries and its archive and
+ * the activity balances, run in one read-only REPEATABLE READ transaction. On InnoDB all queries
+ * therefore read the same consistent snapshot without taking any row locks, so a sweep neither
+ * blocks transfers nor reports transfers that were half applied when it read the chunk.
+ *
+ * The activity of an account is only checked once its projection has caught up, that is once
+ * its AccountActivityState counts as many entries as the journal and its archive hold; until then
+ * the asynchronous projector is simply behind. A caught-up account must then have a last running
+ * balance, and a state balance, equal to its journal balance, whatever order its entries were
+ * projected in.
+ *
+ * Mismatches are handed from the worker threads to the calling thread through a bounded queue,
+ * so they can be streamed while the sweep is running and a slow consumer throttles the workers
+ * instead of buffering results. Only one sweep runs at a time.
+ *
+ * With the sequenced transfer engine the database lags the in-memory balances, but balances and
+ * journal entries are written in the same transaction, so the check remains meaningful.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final AccountActivityRepository activityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReconciliationService(LedgerAccountRepository ledgerAccountRepository,
+                                 JournalEntryRepository journalEntryRepository,
+                                 ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                                 AccountActivityRepository activityRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${omnilife.finance.reconciliation.chunk-size:1000}") int chunkSize,
+                                 @Value("${omnilife.finance.reconciliation.parallelism:4}") int parallelism,
+                                 @Value("${omnilife.finance.reconciliation.queue-capacity:1000}") int queueCapacity) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.activityRepository = activityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns whether a sweep is currently running.
+     *
+     * @return true if a sweep is running
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Checks every account and passes each mismatch to the sink as soon as it is found.
+     * The sink is only called from the calling thread.
+     *
+     * @param sink receives the accounts whose stored or activity balance differs from their journal balance
+     * @return the summary of the sweep
+     * @throws ReconciliationInProgressException if another sweep is running
+     */
+    public ReconciliationSummary reconcile(Consumer<AccountMismatch> sink) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException();
+        }
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Sweep sweep = new Sweep(queueCapacity);
+        try {
+            Long minId = ledgerAccountRepository.findMinId();
+            Long maxId = ledgerAccountRepository.findMaxId();
+            long mismatches = 0;
+            if (minId != null) {
+                ForkJoinTask<Void> task = pool.submit(new ChunkTask(minId, maxId, sweep));
+                mismatches = drain(task, sweep, sink);
+            }
+            return new ReconciliationSummary(sweep.checked.get(), mismatches,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            sweep.cancelled = true;
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Runs a sweep on the configured schedule and logs its mismatches.
+     * Disabled unless omnilife.finance.reconciliation.cron is set.
+     */
+    @Scheduled(cron = "${omnilife.finance.reconciliation.cron:-}")
+    public void scheduledReconciliation() {
+        try {
+            ReconciliationSummary summary = reconcile(mismatch -> log.warn(
+                    "Ledger mismatch on account {}: stored balance {}, journal balance {}, activity balance {}",
+                    mismatch.accountNumber(), mismatch.storedBalance(), mismatch.journalBalance(),
+                    mismatch.activityBalance()));
+            log.info("Ledger reconciliation checked {} accounts in {} ms, {} mismatches",
+                    summary.accountsChecked(), summary.durationMillis(), summary.mismatches());
+        } catch (ReconciliationInProgressException e) {
+            log.info("Skipping scheduled ledger reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Passes mismatches from the queue to the sink until the sweep has finished.
+     *
+     * @return the number of mismatches
+     */
+    private long drain(ForkJoinTask<Void> task, Sweep sweep, Consumer<AccountMismatch> sink) {
+        long count = 0;
+        try {
+            while (!task.isDone()) {
+                AccountMismatch mismatch = sweep.mismatches.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (mismatch != null) {
+                    sink.accept(mismatch);
+                    count++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during ledger reconciliation", e);
+        }
+        // Rethrows the failure of any chunk
+        task.join();
+
+        List<AccountMismatch> remaining = new ArrayList<>();
+        sweep.mismatches.drainTo(remaining);
+        for (AccountMismatch mismatch : remaining) {
+            sink.accept(mismatch);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Compares the stored, journal and activity balances of the accounts in an ID range within a
+     * single consistent read.
+     */
+    private List<AccountMismatch> reconcileChunk(long fromId, long toId, Sweep sweep) {
+        List<AccountMismatch> mismatches = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<StoredAccountBalance> stored = ledgerAccountRepository.findStoredBalancesBetween(fromId, toId);
+            Map<Long, AccountJournalBalance> journal = new HashMap<>();
+            for (AccountJournalBalance balance : journalEntryRepository.findJournalBalancesBetween(fromId, toId)) {
+                journal.put(balance.accountId(), balance);
+            }
+            for (AccountJournalBalance balance : archivedJournalEntryRepository.findJournalBalancesBetween(fromId, toId)) {
+                journal.merge(balance.accountId(), balance, (a, b) -> new AccountJournalBalance(a.accountId(),
+                        a.balance().add(b.balance()), a.entries() + b.entries()));
+            }
+            Map<Long, AccountActivityBalance> activity = new HashMap<>();
+            for (AccountActivityBalance balance : activityRepository.findActivityBalancesBetween(fromId, toId)) {
+                activity.put(balance.accountId(), balance);
+            }
+
+            for (StoredAccountBalance account : stored) {
+                AccountJournalBalance entries = journal.get(account.accountId());
+                BigDecimal journalBalance = entries == null ? BigDecimal.ZERO : entries.balance();
+                BigDecimal activityBalance = caughtUpActivityBalance(activity.get(account.accountId()), entries);
+                boolean activityMismatch = activityBalance != null && activityBalance.compareTo(journalBalance) != 0;
+                if (account.balance().compareTo(journalBalance) != 0 || activityMismatch) {
+                    mismatches.add(new AccountMismatch(account.accountId(), account.accountNumber(),
+                            account.balance(), journalBalance, account.balance().subtract(journalBalance),
+                            activityBalance));
+                }
+            }
+            sweep.checked.addAndGet(stored.size());
+        });
+        return mismatches;
+    }
+
+    /**
+     * Returns the activity balance of an account whose projection has caught up with its journal:
+     * the last running balance, or the state balance if that one differs. Returns null for an
+     * account that is not seeded or still has entries to project.
+     */
+    private static BigDecimal caughtUpActivityBalance(AccountActivityBalance activity, AccountJournalBalance journal) {
+        if (activity == null || journal == null || activity.lastSequence() != journal.entries().longValue()) {
+            return null;
+        }
+        if (activity.runningBalance().compareTo(activity.stateBalance()) != 0) {
+            return activity.stateBalance();
+        }
+        return activity.runningBalance();
+    }
+
+    /**
+     * State shared by the tasks of one sweep.
+     */
+    private static final class Sweep {
+        private final BlockingQueue<AccountMismatch> mismatches;
+        private final AtomicLong checked = new AtomicLong();
+        private volatile boolean cancelled;
+
+        private Sweep(int queueCapacity) {
+            this.mismatches = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Queues a mismatch for the consumer, waiting while the queue is full.
+         *
+         * @throws CancellationException if the sweep was abandoned by the consumer
+         */
+        private void publish(AccountMismatch mismatch) {
+            try {
+                while (!mismatches.offer(mismatch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (cancelled) {
+                        throw new CancellationException("Ledger reconciliation was cancelled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Ledger reconciliation was interrupted");
+            }
+        }
+    }
+
+    /**
+     * Checks an account ID range, splitting it in halves until it fits in one chunk.
+     */
+    private final class ChunkTask extends RecursiveAction {
+
+        private final long fromId;
+        private final long toId;
+        private final Sweep sweep;
+
+        private ChunkTask(long fromId, long toId, Sweep sweep) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.sweep = sweep;
+        }
+
+        @Override
+        protected void compute() {
+            if (sweep.cancelled) {
+                return;
+            }
+            if (toId - fromId >= chunkSize) {
+                long middle = fromId + (toId - fromId) / 2;
+                invokeAll(new ChunkTask(fromId, middle, sweep), new ChunkTask(middle + 1, toId, sweep));
+                return;
+            }
+            for (AccountMismatch mismatch : reconcileChunk(fromId, toId, sweep)) {
+                sweep.publish(mismatch);
+            }
+        }
+    }
+}
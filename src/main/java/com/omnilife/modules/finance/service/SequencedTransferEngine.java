@@ -0,0 +1,278 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.persistence.TimeOrderedUuids;
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.domain.LedgerSequencerCheckpoint;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.TransactionOutcomeUnknownException;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import com.omnilife.modules.finance.repository.LedgerSequencerCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transfer engine that keeps balances in memory and checks them without any database locks.
+ * Selected with omnilife.finance.transfer.engine=sequenced.
+ *
+ * Accounts are partitioned by account number across a fixed set of single-threaded
+ * LedgerSequencers. A transfer is executed by the sequencer owning the from-account: it checks
+ * and debits the balance, makes the change durable in its local ledger log, acknowledges the
+ * caller and forwards the credit to the sequencer owning the to-account. Journal entries and
+ * balances are written to the database asynchronously by the LedgerWriteBehind.
+ *
+ * Accounts are loaded from the database on first use. At startup, every log record that is not
+ * yet covered by the database checkpoints is written to the database before the sequencers start,
+ * so the database is again an exact starting point for the in-memory state.
+ *
+ * The engine assumes it is the only writer of balances: it must run on a single application
+ * instance, and operations that update ledger_accounts directly are disabled while it is active.
+ * Cross-currency transfers are not supported either, as the ledger log records a single amount.
+ */
+@Service
+@ConditionalOnProperty(name = "omnilife.finance.transfer.engine", havingValue = "sequenced")
+public class SequencedTransferEngine implements TransferEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SequencedTransferEngine.class);
+
+    private static final String LOG_FILE_PREFIX = "partition-";
+    private static final String LOG_FILE_SUFFIX = ".log";
+    private static final int RECOVERY_CHUNK_SIZE = 1000;
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final LedgerSequencerCheckpointRepository checkpointRepository;
+    private final HotAccountService hotAccountService;
+    private final LedgerWriteBehind writeBehind;
+    private final Path logDirectory;
+    private final int partitions;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+    private final long maxLogBytes;
+    private final long submitTimeoutMillis;
+
+    private final Map<String, LedgerSequencer.AccountState> accounts = new ConcurrentHashMap<>();
+    private final List<LedgerSequencer> sequencers = new ArrayList<>();
+    private final List<LedgerLog> logs = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    public SequencedTransferEngine(LedgerAccountRepository ledgerAccountRepository,
+                                   JournalEntryRepository journalEntryRepository,
+                                   LedgerSequencerCheckpointRepository checkpointRepository,
+                                   HotAccountService hotAccountService,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${omnilife.finance.sequencer.partitions:8}") int partitions,
+                                   @Value("${omnilife.finance.sequencer.log-dir:./data/ledger-log}") String logDirectory,
+                                   @Value("${omnilife.finance.sequencer.max-batch-size:256}") int maxBatchSize,
+                                   @Value("${omnilife.finance.sequencer.queue-capacity:65536}") int queueCapacity,
+                                   @Value("${omnilife.finance.sequencer.max-log-bytes:67108864}") long maxLogBytes,
+                                   @Value("${omnilife.finance.sequencer.write-behind-batch-size:500}") int writeBehindBatchSize,
+                                   @Value("${omnilife.finance.sequencer.submit-timeout-ms:5000}") long submitTimeoutMillis) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.hotAccountService = hotAccountService;
+        this.partitions = partitions;
+        this.logDirectory = Paths.get(logDirectory);
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxLogBytes = maxLogBytes;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        this.writeBehind = new LedgerWriteBehind(ledgerAccountRepository, journalEntryRepository,
+                checkpointRepository, new TransactionTemplate(transactionManager), eventPublisher,
+                writeBehindBatchSize, partitions);
+    }
+
+    /**
+     * Replays the ledger logs into the database and starts the sequencer and write-behind threads.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(logDirectory);
+        recover();
+
+        for (int partition = 0; partition < partitions; partition++) {
+            long lastSequence = checkpointRepository.findById(partition)
+                    .map(LedgerSequencerCheckpoint::getLastSequence)
+                    .orElse(0L);
+            writeBehind.markPersisted(partition, lastSequence);
+
+            LedgerLog ledgerLog = new LedgerLog(logFile(partition));
+            LedgerSequencer sequencer = new LedgerSequencer(partition, ledgerLog, writeBehind, this::routeCredit,
+                    lastSequence, maxBatchSize, queueCapacity, maxLogBytes);
+            logs.add(ledgerLog);
+            sequencers.add(sequencer);
+            threads.add(Thread.ofPlatform().name("ledger-sequencer-" + partition).start(sequencer));
+        }
+        threads.add(Thread.ofPlatform().name("ledger-write-behind").start(writeBehind));
+        log.info("Sequenced transfer engine started with {} partitions, logging to {}", partitions, logDirectory);
+    }
+
+    /**
+     * Drains all sequencers and writes every pending record to the database before shutdown.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        sequencers.forEach(LedgerSequencer::stop);
+        for (int i = 0; i < sequencers.size(); i++) {
+            threads.get(i).join();
+        }
+        writeBehind.stop();
+        threads.get(threads.size() - 1).join();
+        for (LedgerLog ledgerLog : logs) {
+            try {
+                ledgerLog.close();
+            } catch (IOException e) {
+                log.warn("Could not close ledger log {}", ledgerLog.path(), e);
+            }
+        }
+    }
+
+    @Override
+    public void transfer(UUID transactionId, String fromAccountNum, String toAccountNum, long amount) {
+        LedgerSequencer.AccountState fromAccount = account(fromAccountNum, "From account not found: ");
+        LedgerSequencer.AccountState toAccount = account(toAccountNum, "To account not found: ");
+        if (!fromAccount.currency.equals(toAccount.currency)) {
+            throw new UnsupportedOperationException(
+                    "Cross-currency transfers are not supported by the configured transfer engine");
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        sequencerFor(fromAccountNum).submit(new LedgerSequencer.TransferCommand(
+                transactionId, fromAccount, toAccount, amount, done));
+        await(done, transactionId);
+    }
+
+    @Override
+    public LedgerAccount deposit(String accountNumber, long amount) {
+        LedgerSequencer.AccountState state = account(accountNumber, "Account not found: ");
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        UUID transactionId = TimeOrderedUuids.next();
+        sequencerFor(accountNumber).submit(new LedgerSequencer.DepositCommand(transactionId, state, amount, done));
+        await(done, transactionId);
+
+        // Return a detached copy carrying the in-memory balance; the database row may still lag behind
+        LedgerAccount account = ledgerAccountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        return LedgerAccount.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .name(account.getName())
+                .balance(Money.toBigDecimal(state.balance))
+                .currency(account.getCurrency())
+                .status(account.getStatus())
+                .createdDate(account.getCreatedDate())
+                .balanceSlots(account.getBalanceSlots())
+                .build();
+    }
+
+    @Override
+    public Optional<BigDecimal> currentBalance(String accountNumber) {
+        LedgerSequencer.AccountState state = accounts.get(accountNumber);
+        return state != null ? Optional.of(Money.toBigDecimal(state.balance)) : Optional.empty();
+    }
+
+    @Override
+    public boolean isDatabaseAuthoritative() {
+        return false;
+    }
+
+    /**
+     * Returns the in-memory state of an account, loading it from the database on first use.
+     * Loading may race with another thread; the first state registered wins. This is safe because
+     * no log record can exist for an account before its state has been registered.
+     */
+    private LedgerSequencer.AccountState account(String accountNumber, String notFoundMessage) {
+        LedgerSequencer.AccountState state = accounts.get(accountNumber);
+        if (state != null) {
+            return state;
+        }
+        LedgerAccount account = ledgerAccountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(notFoundMessage + accountNumber));
+        LedgerSequencer.AccountState loaded = new LedgerSequencer.AccountState(
+                account.getId(), accountNumber, account.getCurrency(),
+                Money.toMinorUnits(hotAccountService.getTotalBalance(account)));
+        state = accounts.putIfAbsent(accountNumber, loaded);
+        return state != null ? state : loaded;
+    }
+
+    private LedgerSequencer sequencerFor(String accountNumber) {
+        return sequencers.get(Math.floorMod(accountNumber.hashCode(), partitions));
+    }
+
+    private void routeCredit(LedgerSequencer.CreditCommand credit) {
+        sequencerFor(credit.to().accountNumber).submitCredit(credit);
+    }
+
+    /**
+     * Waits for a submitted command. On timeout or interruption the command is still queued or
+     * being logged and may yet become durable, so the caller is told that the outcome is unknown
+     * rather than that the command failed.
+     */
+    private void await(CompletableFuture<Void> done, UUID transactionId) {
+        try {
+            done.get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger command failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransactionOutcomeUnknownException(transactionId,
+                    "Ledger command did not complete within " + submitTimeoutMillis + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionOutcomeUnknownException(transactionId, "Interrupted while waiting for ledger command", e);
+        }
+    }
+
+    /**
+     * Writes every log record that is not yet in the database, then empties the logs.
+     * Checkpoints make this idempotent, so a crash during recovery is recovered by the next start.
+     */
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(logDirectory, LOG_FILE_PREFIX + "*" + LOG_FILE_SUFFIX)) {
+            for (Path file : files) {
+                List<LedgerLogRecord> records = LedgerLog.readAll(file);
+                for (int from = 0; from < records.size(); from += RECOVERY_CHUNK_SIZE) {
+                    writeBehind.persist(records.subList(from, Math.min(from + RECOVERY_CHUNK_SIZE, records.size())));
+                }
+                if (!records.isEmpty()) {
+                    log.info("Recovered {} ledger records from {}", records.size(), file);
+                }
+                try (LedgerLog ledgerLog = new LedgerLog(file)) {
+                    ledgerLog.truncate();
+                }
+            }
+        }
+    }
+
+    private Path logFile(int partition) {
+        return logDirectory.resolve(LOG_FILE_PREFIX + partition + LOG_FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,67 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.domain.LedgerAccount;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Strategy for moving money between ledger accounts.
+ * WalletService delegates all balance-changing wallet operations to exactly one engine, selected
+ * with the omnilife.finance.transfer.engine property.
+ *
+ * Every engine publishes a TransferCompleted or DepositCompleted event in the transaction that
+ * writes the journal entries, so the event is recorded in the event publication registry if and
+ * only if the entries are committed.
+ */
+public interface TransferEngine {
+
+    /**
+     * Transfers funds from one account to another with full double-entry bookkeeping.
+     * If the accounts differ in currency, the amount is converted with the rate from
+     * FxRateService and each journal entry records its own currency's amount and the rate.
+     *
+     * @param transactionId  the transaction ID of the two journal entries, chosen by the caller
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer in minor units, already validated to be positive
+     * @throws AccountNotFoundException  if either account is not found
+     * @throws InsufficientFundsException if the fromAccount has insufficient balance
+     * @throws FxRateNotFoundException    if the currencies differ and no exchange rate is configured
+     */
+    void transfer(UUID transactionId, String fromAccountNum, String toAccountNum, long amount);
+
+    /**
+     * Adds money to an account balance and records it as a CREDIT journal entry.
+     *
+     * @param accountNumber the account number to fund
+     * @param amount        the amount to add in minor units, already validated to be positive
+     * @return the funded LedgerAccount
+     * @throws AccountNotFoundException if the account is not found
+     */
+    LedgerAccount deposit(String accountNumber, long amount);
+
+    /**
+     * Returns the current balance of an account if this engine holds balances outside the database.
+     *
+     * @param accountNumber the account number
+     * @return the engine's balance, or empty if the database balance is authoritative
+     */
+    default Optional<BigDecimal> currentBalance(String accountNumber) {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether balances in the database are authoritative, i.e. whether operations that
+     * lock and update ledger_accounts directly (batch transfers, hot account slots) may be used.
+     *
+     * @return true if the database holds the authoritative balances
+     */
+    default boolean isDatabaseAuthoritative() {
+        return true;
+    }
+}
@@ -0,0 +1,242 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.cache.SegmentedLruCache;
+import com.omnilife.common.persistence.TimeOrderedUuids;
+import com.omnilife.modules.finance.domain.IdempotencyRecord;
+import com.omnilife.modules.finance.domain.IdempotencyStatus;
+import com.omnilife.modules.finance.dto.TransferReceipt;
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.IdempotencyKeyInProgressException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.exception.TransferConflictException;
+import com.omnilife.modules.finance.repository.IdempotencyRecordRepository;
+import com.omnilife.modules.finance.repository.JournalEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Executes transfers at most once per Idempotency-Key.
+ *
+ * A key is claimed by inserting a PENDING record together with the transaction ID the transfer
+ * will use, then the transfer is executed and the record marked COMPLETED. A repeated request
+ * with the same key returns the original transaction ID without executing the transfer again
+ * and without touching any account row. Completed keys are answered from a bounded in-memory
+ * cache first, so a retry storm costs a map lookup per request; keys not in the cache, such as
+ * those completed by another instance, cost one primary key lookup.
+ *
+ * If the process dies between the transfer and the COMPLETED update, the record stays PENDING.
+ * Once its claim has expired, the next request with the key checks the journal for the
+ * transaction ID: if the transfer was written it is reported as done, otherwise the request takes
+ * over the claim and executes the transfer under the same transaction ID. The claim lease must
+ * therefore exceed the longest time a transfer can take to reach the journal.
+ *
+ * Keys are kept for the configured retention and then purged; a request with the same key after
+ * that is executed as a new transfer.
+ */
+@Service
+public class TransferIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferIdempotencyService.class);
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final WalletService walletService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SegmentedLruCache<String, CachedKey> cache;
+    private final long leaseMillis;
+    private final long retentionMillis;
+
+    public TransferIdempotencyService(WalletService walletService,
+                                      IdempotencyRecordRepository idempotencyRecordRepository,
+                                      JournalEntryRepository journalEntryRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${omnilife.finance.idempotency.cache-size:100000}") int cacheSize,
+                                      @Value("${omnilife.finance.idempotency.lease-ms:60000}") long leaseMillis,
+                                      @Value("${omnilife.finance.idempotency.retention-ms:86400000}") long retentionMillis) {
+        this.walletService = walletService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = new SegmentedLruCache<>(cacheSize, retentionMillis);
+        this.leaseMillis = leaseMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Transfers funds unless a transfer with the same idempotency key has already been executed.
+     *
+     * @param idempotencyKey the client-chosen key of the request
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer
+     * @return the transaction ID of the transfer, and whether it was executed by an earlier request
+     * @throws IllegalArgumentException           if the key is invalid or was used for a different transfer
+     * @throws IdempotencyKeyInProgressException if an earlier request with the key is still running
+     */
+    public TransferReceipt transfer(String idempotencyKey, String fromAccountNum, String toAccountNum,
+                                    BigDecimal amount) {
+        // Validation: Check the key and that it is not reused for a different transfer
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters long");
+        }
+        String fingerprint = fingerprint(fromAccountNum, toAccountNum, amount);
+
+        CachedKey cached = cache.get(idempotencyKey);
+        if (cached != null) {
+            requireSameRequest(cached.requestFingerprint(), fingerprint);
+            if (!cached.completed()) {
+                throw new IdempotencyKeyInProgressException();
+            }
+            return new TransferReceipt(cached.transactionId(), true);
+        }
+
+        UUID transactionId = claim(idempotencyKey, fingerprint);
+        if (transactionId == null) {
+            return replayOrTakeOver(idempotencyKey, fromAccountNum, toAccountNum, amount, fingerprint);
+        }
+        execute(idempotencyKey, fingerprint, transactionId, fromAccountNum, toAccountNum, amount);
+        return new TransferReceipt(transactionId, false);
+    }
+
+    /**
+     * Deletes the idempotency records that are older than the retention.
+     */
+    @Scheduled(fixedDelayString = "${omnilife.finance.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMillis));
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * Inserts a PENDING record for the key.
+     *
+     * @return the transaction ID to use, or null if the key had already been claimed
+     */
+    private UUID claim(String idempotencyKey, String fingerprint) {
+        UUID transactionId = TimeOrderedUuids.next();
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.claim(
+                    idempotencyKey, fingerprint, transactionId.toString(), LocalDateTime.now()));
+            return transactionId;
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Answers a request whose key had already been claimed: replays a completed transfer, resolves
+     * an expired claim, or reports that the first request is still running.
+     */
+    private TransferReceipt replayOrTakeOver(String idempotencyKey, String fromAccountNum, String toAccountNum,
+                                             BigDecimal amount, String fingerprint) {
+        IdempotencyRecord existing = idempotencyRecordRepository.findById(idempotencyKey)
+                .orElseThrow(IdempotencyKeyInProgressException::new);
+        requireSameRequest(existing.getRequestFingerprint(), fingerprint);
+        UUID transactionId = UUID.fromString(existing.getTransactionId());
+
+        if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+            cache.put(idempotencyKey, new CachedKey(fingerprint, transactionId, true));
+            return new TransferReceipt(transactionId, true);
+        }
+        if (existing.getClaimedAt().isAfter(LocalDateTime.now().minus(Duration.ofMillis(leaseMillis)))) {
+            throw new IdempotencyKeyInProgressException();
+        }
+
+        // The claim expired: the request holding it died before or after executing the transfer
+        if (!journalEntryRepository.findByTransactionId(transactionId).isEmpty()) {
+            complete(idempotencyKey, fingerprint, transactionId);
+            return new TransferReceipt(transactionId, true);
+        }
+        Integer reclaimed = transactionTemplate.execute(status -> idempotencyRecordRepository.reclaim(
+                idempotencyKey, existing.getClaimedAt(), LocalDateTime.now()));
+        if (reclaimed == null || reclaimed == 0) {
+            throw new IdempotencyKeyInProgressException();
+        }
+        log.info("Took over expired claim of idempotency key {}", idempotencyKey);
+        execute(idempotencyKey, fingerprint, transactionId, fromAccountNum, toAccountNum, amount);
+        return new TransferReceipt(transactionId, false);
+    }
+
+    /**
+     * Executes the transfer of a claimed key and marks the key COMPLETED.
+     * Failures that certainly left no trace in the ledger release the key, so the client can retry
+     * the request. Any other failure, such as a timeout, leaves the key PENDING until the lease
+     * expires and the journal shows whether the transfer happened.
+     */
+    private void execute(String idempotencyKey, String fingerprint, UUID transactionId,
+                         String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        cache.put(idempotencyKey, new CachedKey(fingerprint, transactionId, false));
+        try {
+            walletService.transferFunds(transactionId, fromAccountNum, toAccountNum, amount);
+        } catch (IllegalArgumentException | AccountNotFoundException | InsufficientFundsException
+                 | FxRateNotFoundException | TransferConflictException | UnsupportedOperationException e) {
+            cache.invalidate(idempotencyKey);
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.release(idempotencyKey, transactionId.toString()));
+            throw e;
+        } catch (RuntimeException e) {
+            cache.invalidate(idempotencyKey);
+            throw e;
+        }
+        complete(idempotencyKey, fingerprint, transactionId);
+    }
+
+    private void complete(String idempotencyKey, String fingerprint, UUID transactionId) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.markCompleted(idempotencyKey, LocalDateTime.now()));
+        cache.put(idempotencyKey, new CachedKey(fingerprint, transactionId, true));
+    }
+
+    private static void requireSameRequest(String storedFingerprint, String fingerprint) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different transfer");
+        }
+    }
+
+    /**
+     * Identifies the transfer a key was used for by a SHA-256 hash of its parameters; amounts that
+     * differ only in scale are the same.
+     */
+    private static String fingerprint(String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        String amountText = amount != null ? amount.stripTrailingZeros().toPlainString() : "";
+        String request = fromAccountNum + "|" + toAccountNum + "|" + amountText;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The cached state of one idempotency key.
+     *
+     * @param requestFingerprint the fingerprint of the request that claimed the key
+     * @param transactionId      the transaction ID of the transfer
+     * @param completed          whether the transfer has been executed
+     */
+    private record CachedKey(String requestFingerprint, UUID transactionId, boolean completed) {
+    }
+}
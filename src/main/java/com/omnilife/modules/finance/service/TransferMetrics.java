@@ -0,0 +1,120 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
+import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.exception.TransferConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the single transfer path, published with histogram buckets so that percentiles can be
+ * computed across instances.
+ *
+ * omnilife.transfer.phase{phase} splits the time a transfer spends inside its transaction into
+ * lock waits, validation, balance updates and journal writes, so that lock contention can be told
+ * apart from slow statements. omnilife.transfer{outcome} times whole transfers, including the
+ * commit and any retries; its count per outcome is the rate of successful and rejected transfers.
+ */
+@Component
+class TransferMetrics {
+
+    /**
+     * The phases of a transfer, in the order in which the pessimistic engine runs them.
+     */
+    enum Phase {
+        /** Waiting for the row locks of the accounts and their slots. */
+        LOCK_WAIT,
+        /** Reading accounts that are not locked, the exchange rate and the balance check. */
+        VALIDATION,
+        /** Applying and flushing the balance changes. */
+        BALANCE_UPDATE,
+        /** Inserting the journal entries and the event publication. */
+        JOURNAL_WRITE
+    }
+
+    /**
+     * The outcomes of a transfer.
+     */
+    enum Outcome {
+        SUCCESS,
+        INSUFFICIENT_FUNDS,
+        ACCOUNT_NOT_FOUND,
+        FX_RATE_NOT_FOUND,
+        CONFLICT,
+        INVALID,
+        ERROR
+    }
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<Outcome, Timer> outcomeTimers = new EnumMap<>(Outcome.class);
+
+    TransferMetrics(MeterRegistry registry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("omnilife.transfer.phase")
+                    .description("Time spent by transfers in each phase of their transaction")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomeTimers.put(outcome, Timer.builder("omnilife.transfer")
+                    .description("Duration of single transfers by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Records the time since the start of a phase.
+     *
+     * @param phase      the phase that has ended
+     * @param startNanos the System.nanoTime() at which the phase started
+     * @return the current System.nanoTime(), i.e. the start of the next phase
+     */
+    long recordPhase(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Records a whole transfer that started at the given time.
+     *
+     * @param startNanos the System.nanoTime() at which the transfer started
+     * @param failure    the exception the transfer failed with, or null if it succeeded
+     */
+    void recordTransfer(long startNanos, Throwable failure) {
+        outcomeTimers.get(outcomeOf(failure)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Outcome outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return Outcome.SUCCESS;
+        }
+        if (failure instanceof InsufficientFundsException) {
+            return Outcome.INSUFFICIENT_FUNDS;
+        }
+        if (failure instanceof AccountNotFoundException) {
+            return Outcome.ACCOUNT_NOT_FOUND;
+        }
+        if (failure instanceof FxRateNotFoundException) {
+            return Outcome.FX_RATE_NOT_FOUND;
+        }
+        if (failure instanceof TransferConflictException || failure instanceof ConcurrencyFailureException) {
+            return Outcome.CONFLICT;
+        }
+        if (failure instanceof IllegalArgumentException) {
+            return Outcome.INVALID;
+        }
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,101 @@
+package com.omnilife.modules.finance.service;
+
+import com.omnilife.common.cache.SegmentedLruCache;
+import com.omnilife.modules.finance.api.WalletController;
+import com.omnilife.modules.finance.dto.WalletCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-through, size-bounded cache of wallet views, keyed by account number, with a mapping
+ * from wallet ID to account number so that lookups by ID are served as well.
+ *
+ * Entries are invalidated once the transaction that changed the balance has committed, so a
+ * reader never sees an uncommitted balance, and a load that overlaps an invalidation is not
+ * cached. Other application instances do not invalidate this cache; the time to live bounds how
+ * long a balance changed elsewhere can be served stale.
+ */
+@Component
+public class WalletCache {
+
+    private final SegmentedLruCache<String, WalletController.WalletDto> walletsByAccountNumber;
+    private final SegmentedLruCache<Long, String> accountNumbersById;
+
+    public WalletCache(@Value("${omnilife.finance.wallet-cache.max-size:100000}") int maxSize,
+                       @Value("${omnilife.finance.wallet-cache.ttl-ms:30000}") long timeToLiveMillis) {
+        this.walletsByAccountNumber = new SegmentedLruCache<>(maxSize, timeToLiveMillis);
+        // Account numbers never change, so the mapping does not expire
+        this.accountNumbersById = new SegmentedLruCache<>(maxSize, 0);
+    }
+
+    /**
+     * Returns the cached view of a wallet, loading and caching it on a miss.
+     *
+     * @param accountNumber the account number
+     * @param loader        loads the current committed view from the database
+     * @return the wallet view
+     */
+    WalletController.WalletDto get(String accountNumber, Supplier<WalletController.WalletDto> loader) {
+        WalletController.WalletDto cached = walletsByAccountNumber.get(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = walletsByAccountNumber.stamp(accountNumber);
+        WalletController.WalletDto loaded = loader.get();
+        walletsByAccountNumber.putIfNotInvalidated(accountNumber, loaded, stamp);
+        accountNumbersById.put(loaded.getId(), accountNumber);
+        return loaded;
+    }
+
+    /**
+     * Returns the account number of a wallet ID seen before, or null.
+     */
+    String getAccountNumber(Long id) {
+        return accountNumbersById.get(id);
+    }
+
+    /**
+     * Remembers the account number of a wallet ID.
+     */
+    void putAccountNumber(Long id, String accountNumber) {
+        accountNumbersById.put(id, accountNumber);
+    }
+
+    /**
+     * Invalidates the given wallets once the current transaction commits, or immediately when
+     * called outside a transaction, i.e. after the change has already been committed.
+     *
+     * @param accountNumbers the account numbers of the changed wallets
+     */
+    void invalidateAfterCommit(List<String> accountNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountNumbers.forEach(walletsByAccountNumber::invalidate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountNumbers.forEach(walletsByAccountNumber::invalidate);
+            }
+        });
+    }
+
+    /**
+     * Returns the hit and miss counts of wallet lookups since startup.
+     *
+     * @param enabled whether the cache is in use with the active transfer engine
+     * @return the statistics
+     */
+    WalletCacheStats stats(boolean enabled) {
+        long hits = walletsByAccountNumber.hits();
+        long misses = walletsByAccountNumber.misses();
+        long lookups = hits + misses;
+        return new WalletCacheStats(enabled, walletsByAccountNumber.size(), hits, misses,
+                walletsByAccountNumber.evictions(), lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
@@ -1,26 +1,51 @@
 package com.omnilife.modules.finance.service;
 
+import com.omnilife.common.persistence.TimeOrderedUuids;
 import com.omnilife.modules.finance.api.WalletController;
+import com.omnilife.modules.finance.domain.AccountActivity;
+import com.omnilife.modules.finance.domain.AccountBalanceSlot;
+import com.omnilife.modules.finance.domain.ArchivedJournalEntry;
 import com.omnilife.modules.finance.domain.JournalEntry;
 import com.omnilife.modules.finance.domain.JournalEntryType;
 import com.omnilife.modules.finance.domain.LedgerAccount;
 import com.omnilife.modules.finance.domain.LedgerAccountStatus;
+import com.omnilife.modules.finance.dto.JournalEntryExportRow;
+import com.omnilife.modules.finance.dto.WalletCacheStats;
 import com.omnilife.modules.finance.exception.AccountNotFoundException;
+import com.omnilife.modules.finance.exception.AccountNumberSpaceExhaustedException;
 import com.omnilife.modules.finance.exception.DuplicateAccountNumberException;
+import com.omnilife.modules.finance.exception.FxRateNotFoundException;
 import com.omnilife.modules.finance.exception.InsufficientFundsException;
+import com.omnilife.modules.finance.repository.AccountActivityRepository;
+import com.omnilife.modules.finance.repository.AccountActivityStateRepository;
+import com.omnilife.modules.finance.repository.ArchivedJournalEntryRepository;
 import com.omnilife.modules.finance.repository.JournalEntryRepository;
 import com.omnilife.modules.finance.repository.LedgerAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for wallet operations including account creation, funding, and transfers.
@@ -30,100 +55,185 @@ public class WalletService {
 
     private final LedgerAccountRepository ledgerAccountRepository;
     private final JournalEntryRepository journalEntryRepository;
+    private final ArchivedJournalEntryRepository archivedJournalEntryRepository;
+    private final AccountActivityRepository activityRepository;
+    private final AccountActivityStateRepository activityStateRepository;
+    private final HotAccountService hotAccountService;
+    private final FxRateService fxRateService;
+    private final TransferEngine transferEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final WalletCache walletCache;
+    private final TransferMetrics transferMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchMaxSize;
+    private final int postingMaxLegs;
+    private final int bulkMaxSize;
+    private final int bulkChunkSize;
+    private final int historyMaxPageSize;
 
     public WalletService(LedgerAccountRepository ledgerAccountRepository,
-                         JournalEntryRepository journalEntryRepository) {
+                         JournalEntryRepository journalEntryRepository,
+                         ArchivedJournalEntryRepository archivedJournalEntryRepository,
+                         AccountActivityRepository activityRepository,
+                         AccountActivityStateRepository activityStateRepository,
+                         HotAccountService hotAccountService,
+                         FxRateService fxRateService,
+                         TransferEngine transferEngine,
+                         ApplicationEventPublisher eventPublisher,
+                         AccountNumberAllocator accountNumberAllocator,
+                         WalletCache walletCache,
+                         TransferMetrics transferMetrics,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${omnilife.finance.transfer.batch-max-size:5000}") int batchMaxSize,
+                         @Value("${omnilife.finance.posting.max-legs:100}") int postingMaxLegs,
+                         @Value("${omnilife.finance.wallet.bulk-max-size:200000}") int bulkMaxSize,
+                         @Value("${omnilife.finance.wallet.bulk-chunk-size:1000}") int bulkChunkSize,
+                         @Value("${omnilife.finance.history.max-page-size:1000}") int historyMaxPageSize) {
         this.ledgerAccountRepository = ledgerAccountRepository;
         this.journalEntryRepository = journalEntryRepository;
-    }
-
-    /**
-     * Generates a unique 10-digit account number starting with "2026".
-     * Format: 2026XXXXXX where XXXXXX is a 6-digit random number.
-     *
-     * @return a unique account number
-     */
-    private String generateAccountNumber() {
-        Random random = new Random();
-        String accountNumber;
-        int maxAttempts = 100; // Prevent infinite loop
-        int attempts = 0;
-
-        do {
-            // Generate 6 random digits (000000 to 999999)
-            int randomDigits = random.nextInt(1000000);
-            accountNumber = String.format("2026%06d", randomDigits);
-            attempts++;
-
-            // Check if account number already exists
-            if (!ledgerAccountRepository.findByAccountNumber(accountNumber).isPresent()) {
-                return accountNumber;
-            }
-        } while (attempts < maxAttempts);
-
-        // If we couldn't find a unique number after max attempts, throw exception
-        throw new IllegalStateException("Unable to generate unique account number after " + maxAttempts + " attempts");
+        this.archivedJournalEntryRepository = archivedJournalEntryRepository;
+        this.activityRepository = activityRepository;
+        this.activityStateRepository = activityStateRepository;
+        this.hotAccountService = hotAccountService;
+        this.fxRateService = fxRateService;
+        this.transferEngine = transferEngine;
+        this.eventPublisher = eventPublisher;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.walletCache = walletCache;
+        this.transferMetrics = transferMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchMaxSize = batchMaxSize;
+        this.postingMaxLegs = postingMaxLegs;
+        this.bulkMaxSize = bulkMaxSize;
+        this.bulkChunkSize = bulkChunkSize;
+        this.historyMaxPageSize = historyMaxPageSize;
     }
 
     /**
      * Creates a new wallet (LedgerAccount).
-     * Handles race conditions by retrying with a new account number if a duplicate is detected.
+     * The account number comes from the AccountNumberAllocator, so no existence check is needed;
+     * the unique constraint on account_number only guards against numbers assigned outside the allocator.
      *
      * @param name     the name of the wallet owner
      * @param currency the currency code (e.g., "USD")
      * @return the created and saved LedgerAccount
-     * @throws DuplicateAccountNumberException if unable to generate a unique account number after retries
+     * @throws AccountNumberSpaceExhaustedException if no account numbers are left
+     * @throws DuplicateAccountNumberException      if the allocated account number is already taken
      */
     @Transactional
     public LedgerAccount createWallet(String name, String currency) {
-        int maxRetries = 5;
-        int retryCount = 0;
-
-        while (retryCount < maxRetries) {
-            try {
-                // Generate unique 10-digit account number starting with "2026"
-                String accountNumber = generateAccountNumber();
-                
-                // Ensure account number is not null and has correct format
-                if (accountNumber == null || accountNumber.length() != 10 || !accountNumber.startsWith("2026")) {
-                    throw new IllegalStateException("Invalid account number generated: " + accountNumber);
-                }
+        String accountNumber = accountNumberAllocator.allocate();
+
+        LedgerAccount account = LedgerAccount.builder()
+                .name(name)
+                .currency(currency != null && !currency.isEmpty() ? currency : "USD")
+                .balance(BigDecimal.ZERO)
+                .accountNumber(accountNumber)
+                .status(LedgerAccountStatus.ACTIVE)
+                .build();
 
-                // Verify account number doesn't exist (double-check before save)
-                if (ledgerAccountRepository.findByAccountNumber(accountNumber).isPresent()) {
-                    retryCount++;
-                    continue; // Retry with a new account number
-                }
+        LedgerAccount saved;
+        try {
+            saved = ledgerAccountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateAccountNumberException(
+                    "Unable to create wallet: account number " + accountNumber + " already exists", e);
+        }
 
-                LedgerAccount account = LedgerAccount.builder()
-                        .name(name)
-                        .currency(currency != null && !currency.isEmpty() ? currency : "USD")
-                        .balance(BigDecimal.ZERO)
-                        .accountNumber(accountNumber)
-                        .status(LedgerAccountStatus.ACTIVE)
-                        .build();
-
-                // Double-check account number is set correctly
-                if (account.getAccountNumber() == null || !account.getAccountNumber().equals(accountNumber)) {
-                    account.setAccountNumber(accountNumber);
-                }
+        // A new account has no history, so its activity is projected from the start
+        activityStateRepository.createForNewAccounts(List.of(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Checks that a bulk wallet creation request has an acceptable size.
+     *
+     * @param count the number of wallets to create
+     * @throws IllegalArgumentException if the count is zero or exceeds the configured maximum
+     */
+    public void validateBulkWalletCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one wallet is required");
+        }
+        if (count > bulkMaxSize) {
+            throw new IllegalArgumentException(
+                    "Bulk wallet count " + count + " exceeds the maximum of " + bulkMaxSize);
+        }
+    }
 
-                // Attempt to save - this will throw DataIntegrityViolationException if duplicate exists
-                return ledgerAccountRepository.save(account);
+    /**
+     * Returns the number of wallets created per transaction by createWalletsBulk.
+     *
+     * @return the bulk chunk size
+     */
+    public int getBulkChunkSize() {
+        return bulkChunkSize;
+    }
 
-            } catch (DataIntegrityViolationException e) {
-                // Handle unique constraint violation (race condition)
-                retryCount++;
-                if (retryCount >= maxRetries) {
-                    throw new DuplicateAccountNumberException(
-                            "Unable to create wallet: account number already exists. Please try again.", e);
-                }
-                // Continue to retry with a new account number
-            }
+    /**
+     * Creates many wallets at once.
+     * The wallets are created in chunks of createWalletChunk, each in its own transaction.
+     * After each chunk is committed, its account numbers are passed to the callback in request order,
+     * so callers can stream them out while later chunks are still being created. If a chunk fails,
+     * the wallets of the earlier chunks remain created.
+     *
+     * @param wallets        the wallets to create
+     * @param chunkCommitted called with the account numbers of each committed chunk
+     * @return the number of created wallets
+     * @throws IllegalArgumentException             if the request is empty or too large
+     * @throws AccountNumberSpaceExhaustedException if no account numbers are left
+     * @throws DuplicateAccountNumberException      if an allocated account number is already taken
+     */
+    public int createWalletsBulk(List<WalletController.CreateWalletRequest> wallets,
+                                 Consumer<List<String>> chunkCommitted) {
+        validateBulkWalletCount(wallets.size());
+
+        int created = 0;
+        for (int from = 0; from < wallets.size(); from += bulkChunkSize) {
+            List<WalletController.CreateWalletRequest> chunk =
+                    wallets.subList(from, Math.min(from + bulkChunkSize, wallets.size()));
+            List<String> accountNumbers = createWalletChunk(chunk);
+            created += chunk.size();
+            chunkCommitted.accept(accountNumbers);
+        }
+        return created;
+    }
+
+    /**
+     * Creates one chunk of a bulk wallet creation in a single transaction: account numbers for the
+     * whole chunk are allocated in one call, and the accounts are inserted as JDBC batches on commit.
+     *
+     * @param chunk the wallets to create, at most getBulkChunkSize()
+     * @return the account numbers of the created wallets, in request order
+     * @throws AccountNumberSpaceExhaustedException if no account numbers are left
+     * @throws DuplicateAccountNumberException      if an allocated account number is already taken
+     */
+    public List<String> createWalletChunk(List<WalletController.CreateWalletRequest> chunk) {
+        try {
+            return transactionTemplate.execute(status -> insertWalletChunk(chunk));
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateAccountNumberException(
+                    "Unable to create wallets: an allocated account number already exists", e);
         }
+    }
 
-        throw new DuplicateAccountNumberException(
-                "Unable to create wallet: failed to generate unique account number after " + maxRetries + " attempts");
+    private List<String> insertWalletChunk(List<WalletController.CreateWalletRequest> chunk) {
+        List<String> accountNumbers = accountNumberAllocator.allocate(chunk.size());
+        List<LedgerAccount> accounts = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            WalletController.CreateWalletRequest wallet = chunk.get(i);
+            accounts.add(LedgerAccount.builder()
+                    .name(wallet.getName())
+                    .currency(wallet.getCurrency() != null && !wallet.getCurrency().isEmpty() ? wallet.getCurrency() : "USD")
+                    .balance(BigDecimal.ZERO)
+                    .accountNumber(accountNumbers.get(i))
+                    .status(LedgerAccountStatus.ACTIVE)
+                    .build());
+        }
+        ledgerAccountRepository.saveAll(accounts);
+        activityStateRepository.createForNewAccounts(accounts.stream().map(LedgerAccount::getId).toList());
+        return accountNumbers;
     }
 
     /**
@@ -150,101 +260,419 @@ public class WalletService {
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
     }
 
+    /**
+     * Retrieves the view of a wallet by ID, served from the wallet cache when possible.
+     *
+     * @param id the wallet ID
+     * @return the WalletDto with the total balance
+     * @throws AccountNotFoundException if the account is not found
+     */
+    public WalletController.WalletDto getWalletView(Long id) {
+        if (!transferEngine.isDatabaseAuthoritative()) {
+            return toWalletDto(getWalletById(id));
+        }
+        String accountNumber = walletCache.getAccountNumber(id);
+        if (accountNumber != null) {
+            return getWalletView(accountNumber);
+        }
+        // First lookup of this ID: the account number is only known after loading the account
+        LedgerAccount account = getWalletById(id);
+        walletCache.putAccountNumber(id, account.getAccountNumber());
+        return toWalletDto(account);
+    }
+
+    /**
+     * Retrieves the view of a wallet by account number, served from the wallet cache when possible.
+     * The cache is bypassed when the transfer engine keeps balances outside the database.
+     *
+     * @param accountNumber the account number
+     * @return the WalletDto with the total balance
+     * @throws AccountNotFoundException if the account is not found
+     */
+    public WalletController.WalletDto getWalletView(String accountNumber) {
+        if (!transferEngine.isDatabaseAuthoritative()) {
+            return toWalletDto(getWallet(accountNumber));
+        }
+        return walletCache.get(accountNumber, () -> toWalletDto(getWallet(accountNumber)));
+    }
+
+    /**
+     * Returns the hit and miss counts of the wallet cache since startup.
+     *
+     * @return the cache statistics
+     */
+    public WalletCacheStats getWalletCacheStats() {
+        return walletCache.stats(transferEngine.isDatabaseAuthoritative());
+    }
+
+    private WalletController.WalletDto toWalletDto(LedgerAccount account) {
+        return new WalletController.WalletDto(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getName(),
+                getTotalBalance(account),
+                account.getCurrency()
+        );
+    }
+
+    /**
+     * Returns the total balance of a wallet. For hot accounts this includes all sub-balance slots.
+     *
+     * @param account the LedgerAccount
+     * @return the total balance
+     */
+    public BigDecimal getTotalBalance(LedgerAccount account) {
+        return transferEngine.currentBalance(account.getAccountNumber())
+                .orElseGet(() -> hotAccountService.getTotalBalance(account));
+    }
+
+    /**
+     * Turns a wallet into a hot account whose balance is split into sub-balance slots.
+     *
+     * @param accountNumber the account number
+     * @param slotCount     the number of slots, or null for the configured default
+     * @return the updated LedgerAccount
+     * @throws AccountNotFoundException if the account is not found
+     */
+    public LedgerAccount enableHotAccount(String accountNumber, Integer slotCount) {
+        requireDatabaseAuthoritative("Hot accounts");
+        LedgerAccount account = hotAccountService.enableHotAccount(accountNumber, slotCount);
+        walletCache.invalidateAfterCommit(List.of(accountNumber));
+        return account;
+    }
+
     /**
      * Funds a wallet by adding money to the account balance.
-     * This is a simple method for testing/seeding money without full double-entry bookkeeping.
+     * This is a simple method for testing/seeding money without a counterpart account; the deposit
+     * is journaled as a single CREDIT entry.
+     * For hot accounts the amount is credited to a random sub-balance slot.
      *
      * @param accountNumber the account number to fund
      * @param amount        the amount to add to the balance
      * @return the updated LedgerAccount
      * @throws AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if the amount is not positive or has more than two decimal places
      */
     public LedgerAccount fundWallet(String accountNumber, BigDecimal amount) {
-        LedgerAccount account = ledgerAccountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        // Validation: Check if amount is positive
+        long minorUnits = toPositiveMinorUnits(amount, "Deposit");
 
-        account.setBalance(account.getBalance().add(amount));
-        return ledgerAccountRepository.save(account);
+        LedgerAccount account = transferEngine.deposit(accountNumber, minorUnits);
+        walletCache.invalidateAfterCommit(List.of(accountNumber));
+        return account;
     }
 
     /**
      * Transfers funds from one account to another with full double-entry bookkeeping.
-     * This method is transactional to ensure data consistency.
+     * The transfer is executed by the configured TransferEngine. If the accounts differ in currency,
+     * the amount is converted at the current exchange rate.
+     *
+     * @param fromAccountNum the account number to transfer from
+     * @param toAccountNum   the account number to transfer to
+     * @param amount         the amount to transfer
+     * @return the transaction ID of the transfer's journal entries
+     * @throws AccountNotFoundException  if either account is not found
+     * @throws InsufficientFundsException if the fromAccount has insufficient balance
+     * @throws FxRateNotFoundException    if the currencies differ and no exchange rate is configured
+     * @throws IllegalArgumentException   if the amount is not positive or has more than two decimal places
+     */
+    public UUID transferFunds(String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        UUID transactionId = TimeOrderedUuids.next();
+        transferFunds(transactionId, fromAccountNum, toAccountNum, amount);
+        return transactionId;
+    }
+
+    /**
+     * Transfers funds from one account to another under a transaction ID chosen by the caller.
      *
+     * @param transactionId  the transaction ID of the transfer's journal entries
      * @param fromAccountNum the account number to transfer from
      * @param toAccountNum   the account number to transfer to
      * @param amount         the amount to transfer
      * @throws AccountNotFoundException  if either account is not found
      * @throws InsufficientFundsException if the fromAccount has insufficient balance
-     * @throws IllegalArgumentException   if the amount is not positive
+     * @throws FxRateNotFoundException    if the currencies differ and no exchange rate is configured
+     * @throws IllegalArgumentException   if the amount is not positive or has more than two decimal places
+     */
+    public void transferFunds(UUID transactionId, String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        // Outcome and duration are recorded for every transfer, including rejected ones
+        long start = System.nanoTime();
+        try {
+            // Validation: Check if amount is positive
+            long minorUnits = toPositiveMinorUnits(amount, "Transfer");
+
+            transferEngine.transfer(transactionId, fromAccountNum, toAccountNum, minorUnits);
+            walletCache.invalidateAfterCommit(List.of(fromAccountNum, toAccountNum));
+            transferMetrics.recordTransfer(start, null);
+        } catch (RuntimeException e) {
+            transferMetrics.recordTransfer(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a batch of transfers atomically in a single transaction.
+     * Every affected account is locked exactly once, in ascending account number order, with a single
+     * query. The transfers are then applied in request order against the locked balances, and all
+     * journal entries are written together so that Hibernate can send them as JDBC batches.
+     * Transfers between accounts of different currencies are converted as for single transfers.
+     * If any transfer fails validation, the whole batch is rolled back.
+     *
+     * @param transfers the transfers to execute, in order
+     * @return the number of executed transfers
+     * @throws AccountNotFoundException  if any referenced account is not found
+     * @throws InsufficientFundsException if any transfer would overdraw its from account
+     * @throws FxRateNotFoundException    if a transfer between currencies has no configured exchange rate
+     * @throws IllegalArgumentException   if the batch is empty, too large, or contains a non-positive amount
+     *                                    or one with more than two decimal places
      */
     @Transactional
-    public void transferFunds(String fromAccountNum, String toAccountNum, BigDecimal amount) {
-        // Validation: Check if amount is positive
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Transfer amount must be greater than zero");
-        }
-
-        // Validation: Check if both accounts exist
-        // Using pessimistic write lock to prevent race conditions and double spending.
-        // This ensures that when multiple concurrent transfer requests target the same account,
-        // only one transaction can modify the account balance at a time, preventing:
-        // - Double spending (same funds being transferred twice)
-        // - Lost updates (concurrent balance modifications overwriting each other)
-        // - Negative balances (insufficient balance checks passing due to race conditions)
-        LedgerAccount fromAccount = ledgerAccountRepository.findByAccountNumberWithLock(fromAccountNum)
-                .orElseThrow(() -> new AccountNotFoundException("From account not found: " + fromAccountNum));
-
-        LedgerAccount toAccount = ledgerAccountRepository.findByAccountNumberWithLock(toAccountNum)
-                .orElseThrow(() -> new AccountNotFoundException("To account not found: " + toAccountNum));
-
-        // Validation: Check if fromAccount has sufficient balance
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientFundsException(
-                    String.format("Insufficient balance. Current balance: %s, Required: %s",
-                            fromAccount.getBalance(), amount));
-        }
-
-        // Execution: Deduct amount from fromAccount
-        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-
-        // Execution: Add amount to toAccount
-        toAccount.setBalance(toAccount.getBalance().add(amount));
-
-        // Save both accounts
-        ledgerAccountRepository.save(fromAccount);
-        ledgerAccountRepository.save(toAccount);
-
-        // Create transaction ID for linking both journal entries
-        String transactionId = UUID.randomUUID().toString();
-
-        // Create DEBIT entry for fromAccount
-        JournalEntry debitEntry = JournalEntry.builder()
-                .transactionId(transactionId)
-                .account(fromAccount)
-                .amount(amount)
-                .type(JournalEntryType.DEBIT)
-                .description(String.format("Transfer to account %s", toAccountNum))
-                .build();
+    public int transferFundsBatch(List<WalletController.TransferRequest> transfers) {
+        requireDatabaseAuthoritative("Batch transfers");
 
-        // Create CREDIT entry for toAccount
-        JournalEntry creditEntry = JournalEntry.builder()
-                .transactionId(transactionId)
-                .account(toAccount)
-                .amount(amount)
-                .type(JournalEntryType.CREDIT)
-                .description(String.format("Transfer from account %s", fromAccountNum))
-                .build();
+        // Validation: Check batch size
+        if (transfers == null || transfers.isEmpty()) {
+            throw new IllegalArgumentException("Transfer batch must contain at least one transfer");
+        }
+        if (transfers.size() > batchMaxSize) {
+            throw new IllegalArgumentException(
+                    "Transfer batch size " + transfers.size() + " exceeds the maximum of " + batchMaxSize);
+        }
+
+        // Validation: Check if every amount is positive and collect the affected accounts
+        long[] amounts = new long[transfers.size()];
+        SortedSet<String> accountNumbers = new TreeSet<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            WalletController.TransferRequest transfer = transfers.get(i);
+            amounts[i] = toPositiveMinorUnits(transfer.getAmount(), "Transfer");
+            accountNumbers.add(transfer.getFromUser());
+            accountNumbers.add(transfer.getToUser());
+        }
+
+        walletCache.invalidateAfterCommit(List.copyOf(accountNumbers));
+
+        Map<String, LedgerAccount> accounts = lockAccounts(accountNumbers);
+        Map<String, List<AccountBalanceSlot>> slots = lockHotAccountSlots(accounts);
+
+        // Execution: Apply the transfers in order against the locked balances
+        List<JournalEntry> entries = new ArrayList<>(transfers.size() * 2);
+        for (int i = 0; i < transfers.size(); i++) {
+            WalletController.TransferRequest transfer = transfers.get(i);
+            LedgerAccount fromAccount = accounts.get(transfer.getFromUser());
+            LedgerAccount toAccount = accounts.get(transfer.getToUser());
+            List<AccountBalanceSlot> fromSlots = slots.getOrDefault(transfer.getFromUser(), List.of());
+            long amount = amounts[i];
+
+            long available = hotAccountService.availableBalance(fromAccount, fromSlots);
+            if (available < amount) {
+                throw new InsufficientFundsException("Insufficient balance in transfer #" + (i + 1)
+                        + " from account " + fromAccount.getAccountNumber() + ". Current balance: "
+                        + Money.format(available) + ", Required: " + Money.format(amount));
+            }
+
+            BigDecimal fxRate = fxRateService.rate(fromAccount.getCurrency(), toAccount.getCurrency());
+            long creditAmount = FxRateService.convert(amount, fxRate);
+
+            hotAccountService.debit(fromAccount, fromSlots, amount);
+            toAccount.setBalance(Money.add(toAccount.getBalance(), creditAmount));
 
-        // Save both journal entries
-        journalEntryRepository.save(debitEntry);
-        journalEntryRepository.save(creditEntry);
+            UUID transactionId = TimeOrderedUuids.next();
+            BigDecimal journalAmount = Money.toBigDecimal(amount);
+            BigDecimal creditJournalAmount = fxRate != null ? Money.toBigDecimal(creditAmount) : journalAmount;
+            entries.add(JournalEntries.transferDebit(transactionId, fromAccount, toAccount.getAccountNumber(),
+                    journalAmount, fxRate));
+            entries.add(JournalEntries.transferCredit(transactionId, toAccount, fromAccount.getAccountNumber(),
+                    creditJournalAmount, fxRate));
+        }
+
+        // Save all accounts and journal entries; both are flushed as JDBC batches on commit
+        ledgerAccountRepository.saveAll(accounts.values());
+        journalEntryRepository.saveAll(entries);
+
+        // Publish one event per transfer; listeners run after commit
+        for (int i = 0; i < entries.size(); i += 2) {
+            eventPublisher.publishEvent(LedgerEvents.transferCompleted(entries.get(i), entries.get(i + 1)));
+        }
+
+        return transfers.size();
+    }
+
+    /**
+     * Posts a payment with any number of legs atomically in a single transaction, e.g. payer,
+     * payee, fee and tax accounts. Each leg debits or credits one account, and the DEBIT legs must
+     * sum to the CREDIT legs. As for batch transfers, every involved account is locked exactly once,
+     * in ascending account number order, the legs are applied in request order against the locked
+     * balances, and the journal entries are written together. All entries share one transaction ID.
+     * If any leg fails validation, nothing is posted.
+     *
+     * @param legs the legs of the posting, in order
+     * @return the transaction ID of the posting's journal entries
+     * @throws AccountNotFoundException  if any referenced account is not found
+     * @throws InsufficientFundsException if any DEBIT leg would overdraw its account
+     * @throws IllegalArgumentException   if there are fewer than two or too many legs, an amount is not
+     *                                    positive or has more than two decimal places, the legs do not
+     *                                    balance, or the accounts differ in currency
+     */
+    @Transactional
+    public UUID postTransaction(List<WalletController.PostingLegRequest> legs) {
+        requireDatabaseAuthoritative("Multi-leg postings");
+
+        // Validation: Check leg count
+        if (legs == null || legs.size() < 2) {
+            throw new IllegalArgumentException("A posting must have at least two legs");
+        }
+        if (legs.size() > postingMaxLegs) {
+            throw new IllegalArgumentException(
+                    "Posting with " + legs.size() + " legs exceeds the maximum of " + postingMaxLegs);
+        }
+
+        // Validation: Check if every amount is positive and the debits balance the credits
+        long[] amounts = new long[legs.size()];
+        long debits = 0;
+        long credits = 0;
+        SortedSet<String> accountNumbers = new TreeSet<>();
+        for (int i = 0; i < legs.size(); i++) {
+            WalletController.PostingLegRequest leg = legs.get(i);
+            amounts[i] = toPositiveMinorUnits(leg.getAmount(), "Posting");
+            if (leg.getType() == null) {
+                throw new IllegalArgumentException("Posting leg type must be DEBIT or CREDIT");
+            }
+            if (leg.getType() == JournalEntryType.DEBIT) {
+                debits = Math.addExact(debits, amounts[i]);
+            } else {
+                credits = Math.addExact(credits, amounts[i]);
+            }
+            accountNumbers.add(leg.getAccountNumber());
+        }
+        if (debits != credits) {
+            throw new IllegalArgumentException("Posting does not balance: debits " + Money.format(debits)
+                    + ", credits " + Money.format(credits));
+        }
+
+        walletCache.invalidateAfterCommit(List.copyOf(accountNumbers));
+
+        Map<String, LedgerAccount> accounts = lockAccounts(accountNumbers);
+
+        // Validation: Check that all accounts share one currency
+        String currency = accounts.get(accountNumbers.first()).getCurrency();
+        for (LedgerAccount account : accounts.values()) {
+            if (!currency.equals(account.getCurrency())) {
+                throw new IllegalArgumentException("All accounts of a posting must have the same currency");
+            }
+        }
+
+        Map<String, List<AccountBalanceSlot>> slots = lockHotAccountSlots(accounts);
+
+        // Execution: Apply the legs in order against the locked balances
+        UUID transactionId = TimeOrderedUuids.next();
+        List<JournalEntry> entries = new ArrayList<>(legs.size());
+        for (int i = 0; i < legs.size(); i++) {
+            WalletController.PostingLegRequest leg = legs.get(i);
+            LedgerAccount account = accounts.get(leg.getAccountNumber());
+            long amount = amounts[i];
+
+            if (leg.getType() == JournalEntryType.DEBIT) {
+                List<AccountBalanceSlot> accountSlots = slots.getOrDefault(leg.getAccountNumber(), List.of());
+                long available = hotAccountService.availableBalance(account, accountSlots);
+                if (available < amount) {
+                    throw new InsufficientFundsException("Insufficient balance in leg #" + (i + 1)
+                            + " from account " + account.getAccountNumber() + ". Current balance: "
+                            + Money.format(available) + ", Required: " + Money.format(amount));
+                }
+                hotAccountService.debit(account, accountSlots, amount);
+            } else {
+                account.setBalance(Money.add(account.getBalance(), amount));
+            }
+            entries.add(JournalEntries.postingLeg(transactionId, account, leg.getType(),
+                    Money.toBigDecimal(amount), leg.getDescription()));
+        }
+
+        // Save all accounts and journal entries; both are flushed as JDBC batches on commit
+        ledgerAccountRepository.saveAll(accounts.values());
+        journalEntryRepository.saveAll(entries);
+
+        // Listeners of the event run after commit
+        eventPublisher.publishEvent(LedgerEvents.postingCompleted(entries, currency));
+
+        return transactionId;
+    }
+
+    /**
+     * Locks the given accounts with a single query, in ascending account number order, so that
+     * concurrent batches and postings over overlapping accounts cannot deadlock.
+     *
+     * @param accountNumbers the account numbers, sorted
+     * @return the locked accounts by account number
+     * @throws AccountNotFoundException if any account is not found
+     */
+    private Map<String, LedgerAccount> lockAccounts(SortedSet<String> accountNumbers) {
+        Map<String, LedgerAccount> accounts = new HashMap<>();
+        for (LedgerAccount account : ledgerAccountRepository.findAllByAccountNumberInWithLock(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+        if (accounts.size() != accountNumbers.size()) {
+            for (String accountNumber : accountNumbers) {
+                if (!accounts.containsKey(accountNumber)) {
+                    throw new AccountNotFoundException("Account not found: " + accountNumber);
+                }
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * Locks the slots of the hot accounts among the locked accounts, after all account rows, so
+     * that debits can draw on them. Credits go to the locked account rows, so no credit slot is needed.
+     *
+     * @param accounts the locked accounts by account number
+     * @return the locked slots by account number, for hot accounts only
+     */
+    private Map<String, List<AccountBalanceSlot>> lockHotAccountSlots(Map<String, LedgerAccount> accounts) {
+        Map<String, List<AccountBalanceSlot>> slots = new HashMap<>();
+        for (String accountNumber : new TreeSet<>(accounts.keySet())) {
+            LedgerAccount account = accounts.get(accountNumber);
+            if (account.isHotAccount()) {
+                slots.put(accountNumber, hotAccountService.lockSlots(account));
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Rejects operations that lock and update balances in the database directly while the configured
+     * engine keeps the authoritative balances elsewhere.
+     *
+     * @param operation the operation name used in the error message
+     * @throws UnsupportedOperationException if the database balances are not authoritative
+     */
+    private void requireDatabaseAuthoritative(String operation) {
+        if (!transferEngine.isDatabaseAuthoritative()) {
+            throw new UnsupportedOperationException(operation + " are not supported by the configured transfer engine");
+        }
+    }
+
+    /**
+     * Checks that an amount is positive and converts it to minor units, without rounding.
+     *
+     * @param amount    the requested amount
+     * @param operation the operation name used in the error message
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the amount is not positive or has more than two decimal places
+     */
+    private static long toPositiveMinorUnits(BigDecimal amount, String operation) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException(operation + " amount must be greater than zero");
+        }
+        return Money.toMinorUnits(amount);
     }
 
     /**
      * Retrieves the transaction history for a specific account by ID with pagination support.
      * Returns journal entries for the account, sorted by timestamp in descending order
-     * (most recent first).
+     * (most recent first), including archived entries.
+     * Offset-based: deep pages get slower and every page counts all entries of the account.
+     * Kept for existing clients; see getAccountHistoryPage. Reads the account activity read model
+     * like getAccountHistoryPage, in sequence rather than timestamp order.
      *
      * @param id the wallet ID to retrieve history for
      * @param page the page number (0-indexed)
@@ -252,7 +680,14 @@ public class WalletService {
      * @return a page of TransactionHistoryDto objects representing the account's transaction history
      * @throws AccountNotFoundException if the account is not found
      */
+    @Transactional(readOnly = true)
     public Page<WalletController.TransactionHistoryDto> getAccountHistoryById(Long id, int page, int size) {
+        // Read the activity read model once the account has been seeded
+        if (activityStateRepository.existsById(id)) {
+            return activityRepository.findByAccountIdOrderBySequenceDesc(id, PageRequest.of(page, size))
+                    .map(WalletService::toHistoryDto);
+        }
+
         // Find the account first to ensure it exists
         LedgerAccount account = ledgerAccountRepository.findById(id)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
@@ -262,16 +697,187 @@ public class WalletService {
 
         // Fetch journal entries for this account with pagination, sorted by timestamp descending
         Page<JournalEntry> entriesPage = journalEntryRepository.findByAccountOrderByTimestampDesc(account, pageable);
+        List<WalletController.TransactionHistoryDto> content = new ArrayList<>(size);
+        for (JournalEntry entry : entriesPage) {
+            content.add(toHistoryDto(entry, account));
+        }
+
+        // Archived entries are older than those in the journal, so they follow its last page
+        long archivedCount = archivedJournalEntryRepository.countByAccount(account);
+        if (content.size() < size && archivedCount > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - entriesPage.getTotalElements());
+            if (archiveOffset < archivedCount) {
+                for (ArchivedJournalEntry entry : archivedJournalEntryRepository.findByAccountWithOffset(
+                        account, (int) archiveOffset, size - content.size())) {
+                    content.add(toHistoryDto(entry, account));
+                }
+            }
+        }
+        return new PageImpl<>(content, pageable, entriesPage.getTotalElements() + archivedCount);
+    }
+
+    /**
+     * Retrieves one page of the transaction history for a specific account by ID, using keyset
+     * pagination. Entries are sorted by timestamp and ID in descending order (most recent first).
+     * Unlike getAccountHistoryById, no rows are skipped and no total count is computed, so every
+     * page costs the same regardless of its depth.
+     *
+     * Once the account has been seeded, pages are read from the account activity read model, which
+     * is maintained asynchronously and may lag the latest entries by a moment. Its rows are sorted
+     * by sequence, carry the counterparty and running balance, and take one index range scan per
+     * page. Until then, pages are read from the journal until it has no older entries for the
+     * account and then continue in the archive, which only holds older entries; pages of recent
+     * history therefore do not depend on the size of the archive. The two kinds of cursor are not
+     * interchangeable; a journal cursor presented after seeding is rejected as malformed.
+     *
+     * @param id     the wallet ID to retrieve history for
+     * @param cursor the next token of the previous page, or null for the first page
+     * @param size   the number of items per page
+     * @return the page of TransactionHistoryDto objects and the token of the following page
+     * @throws AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range
+     */
+    @Transactional(readOnly = true)
+    public WalletController.TransactionHistoryPage getAccountHistoryPage(Long id, String cursor, int size) {
+        // Validation: Check the page size
+        if (size < 1 || size > historyMaxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + historyMaxPageSize);
+        }
+
+        // Read the activity read model once the account has been seeded
+        if (activityStateRepository.existsById(id)) {
+            return getActivityPage(id, cursor, size);
+        }
+
+        LedgerAccount account = ledgerAccountRepository.findById(id)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
+
+        // Fetch one entry more than requested to find out whether another page follows
+        HistoryCursor position = cursor == null || cursor.isEmpty() ? null : HistoryCursor.decode(cursor);
+        List<WalletController.TransactionHistoryDto> content = new ArrayList<>(size + 1);
+        List<Long> ids = new ArrayList<>(size + 1);
+        List<JournalEntry> entries = position == null
+                ? journalEntryRepository.findLatestByAccount(account, Limit.of(size + 1))
+                : journalEntryRepository.findByAccountBefore(account, position.timestamp(), position.id(), Limit.of(size + 1));
+        for (JournalEntry entry : entries) {
+            content.add(toHistoryDto(entry, account));
+            ids.add(entry.getId());
+        }
+
+        // The journal has no older entries for the account: continue in the archive
+        if (content.size() <= size) {
+            Limit remaining = Limit.of(size + 1 - content.size());
+            if (!content.isEmpty()) {
+                position = new HistoryCursor(content.get(content.size() - 1).getTimestamp(), ids.get(ids.size() - 1));
+            }
+            List<ArchivedJournalEntry> archived = position == null
+                    ? archivedJournalEntryRepository.findLatestByAccount(account, remaining)
+                    : archivedJournalEntryRepository.findByAccountBefore(account, position.timestamp(), position.id(), remaining);
+            for (ArchivedJournalEntry entry : archived) {
+                content.add(toHistoryDto(entry, account));
+                ids.add(entry.getId());
+            }
+        }
+
+        String next = null;
+        if (content.size() > size) {
+            content = content.subList(0, size);
+            next = new HistoryCursor(content.get(size - 1).getTimestamp(), ids.get(size - 1)).encode();
+        }
+        return new WalletController.TransactionHistoryPage(content, next);
+    }
+
+    /**
+     * Reads one page of an account's history from the account activity read model, as a range
+     * scan of its (account_id, seq) index that touches neither the journal nor the account row.
+     */
+    private WalletController.TransactionHistoryPage getActivityPage(Long id, String cursor, int size) {
+        // Fetch one row more than requested to find out whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<AccountActivity> activities = cursor == null || cursor.isEmpty()
+                ? activityRepository.findByAccountIdOrderBySequenceDesc(id, limit)
+                : activityRepository.findByAccountIdAndSequenceLessThanOrderBySequenceDesc(
+                        id, ActivityCursor.decode(cursor).sequence(), limit);
+
+        String next = null;
+        if (activities.size() > size) {
+            activities = activities.subList(0, size);
+            next = new ActivityCursor(activities.get(size - 1).getSequence()).encode();
+        }
+        List<WalletController.TransactionHistoryDto> content = new ArrayList<>(activities.size());
+        for (AccountActivity activity : activities) {
+            content.add(toHistoryDto(activity));
+        }
+        return new WalletController.TransactionHistoryPage(content, next);
+    }
+
+    /**
+     * Passes every journal entry of an account, oldest first, to the given consumer: the archived
+     * entries, then those in the journal.
+     * The entries are streamed from the database row by row as DTO rows and are not kept after
+     * the consumer returns, so memory use does not depend on the size of the history.
+     *
+     * @param account     the LedgerAccount to export
+     * @param rowConsumer receives each entry; typically writes it straight to a response
+     * @return the number of exported entries
+     */
+    @Transactional(readOnly = true)
+    public long exportAccountHistory(LedgerAccount account, Consumer<JournalEntryExportRow> rowConsumer) {
+        long count;
+        try (Stream<JournalEntryExportRow> rows = archivedJournalEntryRepository.streamExportRowsByAccount(account)) {
+            count = export(rows, rowConsumer);
+        }
+        try (Stream<JournalEntryExportRow> rows = journalEntryRepository.streamExportRowsByAccount(account)) {
+            count += export(rows, rowConsumer);
+        }
+        return count;
+    }
 
-        // Map journal entries to DTOs and return as a Page
-        return entriesPage.map(entry -> new WalletController.TransactionHistoryDto(
+    private static long export(Stream<JournalEntryExportRow> rows, Consumer<JournalEntryExportRow> rowConsumer) {
+        long count = 0;
+        Iterator<JournalEntryExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowConsumer.accept(iterator.next());
+            count++;
+        }
+        return count;
+    }
+
+    private static WalletController.TransactionHistoryDto toHistoryDto(JournalEntry entry, LedgerAccount account) {
+        return new WalletController.TransactionHistoryDto(
                 entry.getTransactionId(),
                 entry.getType(),
                 entry.getAmount(),
                 account.getCurrency(),
                 entry.getTimestamp(),
-                entry.getDescription()
-        ));
+                entry.getDescription(),
+                entry.getFxRate()
+        );
     }
-}
 
+    private static WalletController.TransactionHistoryDto toHistoryDto(AccountActivity activity) {
+        return new WalletController.TransactionHistoryDto(
+                activity.getTransactionId(),
+                activity.getType(),
+                activity.getAmount(),
+                activity.getCurrency(),
+                activity.getTimestamp(),
+                activity.getDescription(),
+                activity.getFxRate(),
+                activity.getCounterpartyAccountNumber(),
+                activity.getRunningBalance()
+        );
+    }
+
+    private static WalletController.TransactionHistoryDto toHistoryDto(ArchivedJournalEntry entry, LedgerAccount account) {
+        return new WalletController.TransactionHistoryDto(
+                entry.getTransactionId(),
+                entry.getType(),
+                entry.getAmount(),
+                account.getCurrency(),
+                entry.getTimestamp(),
+                entry.getDescription(),
+                entry.getFxRate()
+        );
+    }
+}